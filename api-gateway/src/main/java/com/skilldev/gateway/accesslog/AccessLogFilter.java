@@ -0,0 +1,237 @@
+package com.skilldev.gateway.accesslog;
+
+import com.skilldev.gateway.filter.JwtAuthGlobalFilter;
+import com.skilldev.gateway.filter.VerifiedIdentity;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Access log that keeps I/O off the event loop: on completion a request's fields are copied
+ * into an {@link AccessLogRingBuffer} slot and a single writer thread formats and appends them
+ * to a {@link RollingAccessLogFile} in batches. Records are tab-separated:
+ * <pre>timestamp  method  path  status  duration-us  route  user  client</pre>
+ * A full buffer drops the record rather than block. If the file cannot be opened or written,
+ * the writer closes it and retries every {@code reopen-delay}; records meanwhile wait in the
+ * buffer, and once it is full are dropped as above. Metrics:
+ * {@code gateway.access-log.records{result=written|dropped|sampled_out}} and
+ * {@code gateway.access-log.backlog}.
+ */
+@Component
+@EnableConfigurationProperties(AccessLogProperties.class)
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(AccessLogFilter.class);
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(ZoneOffset.UTC);
+    private static final int BATCH_SIZE = 512;
+
+    private final AccessLogProperties properties;
+    private final AccessLogRingBuffer ring;
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sampledOut = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+    /** Owned by the writer thread; null while the file cannot be used. */
+    private RollingAccessLogFile file;
+    private boolean fileFailed;
+
+    public AccessLogFilter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ring = new AccessLogRingBuffer(properties.getBufferSize());
+        FunctionCounter.builder("gateway.access-log.records", written, AtomicLong::get)
+                .tag("result", "written").register(meterRegistry);
+        FunctionCounter.builder("gateway.access-log.records", dropped, AtomicLong::get)
+                .tag("result", "dropped").register(meterRegistry);
+        FunctionCounter.builder("gateway.access-log.records", sampledOut, AtomicLong::get)
+                .tag("result", "sampled_out").register(meterRegistry);
+        Gauge.builder("gateway.access-log.backlog", ring, AccessLogRingBuffer::backlog).register(meterRegistry);
+        this.writer = new Thread(this::drainLoop, "access-log-writer");
+        this.writer.setDaemon(true);
+        if (properties.isEnabled()) {
+            writer.start();
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        long startMillis = System.currentTimeMillis();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, signal, startMillis, startNanos));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long startMillis, long startNanos) {
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = signal == SignalType.CANCEL ? 499
+                : signal == SignalType.ON_ERROR || statusCode == null ? 500
+                : statusCode.value();
+        boolean forced = properties.isAlwaysLogErrors() && status >= 500;
+        if (!forced && properties.getSampleRate() < 1.0
+                && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            sampledOut.incrementAndGet();
+            return;
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        VerifiedIdentity identity = exchange.getAttribute(JwtAuthGlobalFilter.IDENTITY_ATTR);
+        boolean accepted = ring.publish(startMillis, request.getMethod().name(), request.getPath().value(), status,
+                (System.nanoTime() - startNanos) / 1000,
+                route != null ? route.getId() : null,
+                identity != null ? identity.username() : null,
+                request.getRemoteAddress());
+        if (!accepted) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    private void drainLoop() {
+        StringBuilder line = new StringBuilder(256);
+        ByteBuffer out = ByteBuffer.allocateDirect(64 * 1024);
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        long idleNanos = properties.getIdleWait().toNanos();
+        long reopenNanos = properties.getReopenDelay().toNanos();
+        long reopenAt = System.nanoTime();
+        while (running || (file != null && ring.backlog() > 0)) {
+            if (file == null) {
+                if (System.nanoTime() - reopenAt >= 0 && !openFile()) {
+                    reopenAt = System.nanoTime() + reopenNanos;
+                }
+                if (file == null) {
+                    LockSupport.parkNanos(idleNanos);
+                    continue;
+                }
+            }
+            int drained = ring.drain(slot -> {
+                format(slot, line);
+                CharBuffer chars = CharBuffer.wrap(line);
+                if (out.remaining() < line.length() * 3) {
+                    flush(out);
+                }
+                encoder.encode(chars, out, true);
+                encoder.reset();
+            }, BATCH_SIZE);
+            flush(out);
+            if (file == null) {
+                dropped.addAndGet(drained);
+                reopenAt = System.nanoTime() + reopenNanos;
+            } else {
+                written.addAndGet(drained);
+            }
+            if (drained == 0) {
+                LockSupport.parkNanos(idleNanos);
+            }
+        }
+        closeFile();
+    }
+
+    /** Writer thread only; logs the first failure of a streak, not every retry. */
+    private boolean openFile() {
+        try {
+            file = new RollingAccessLogFile(Path.of(properties.getDirectory()), properties.getFileName(),
+                    properties.getMaxFileSize().toBytes(), properties.getMaxHistory());
+            if (fileFailed) {
+                log.info("Access log file {} is writable again", properties.getFileName());
+                fileFailed = false;
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            if (!fileFailed) {
+                log.error("Cannot open access log in {}; retrying every {}", properties.getDirectory(),
+                        properties.getReopenDelay(), e);
+                fileFailed = true;
+            }
+            return false;
+        }
+    }
+
+    /** A failed write loses the batch and closes the file, to be reopened after {@code reopen-delay}. */
+    private void flush(ByteBuffer out) {
+        out.flip();
+        try {
+            if (out.hasRemaining() && file != null) {
+                file.write(out);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Access log batch lost: {}", e.toString());
+            fileFailed = true;
+            closeFile();
+        } finally {
+            out.clear();
+        }
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.debug("Closing access log: {}", e.toString());
+        }
+        file = null;
+    }
+
+    private static void format(AccessLogRingBuffer.Slot slot, StringBuilder line) {
+        line.setLength(0);
+        TIMESTAMP.formatTo(Instant.ofEpochMilli(slot.timestampMillis), line);
+        line.append('\t').append(slot.method)
+                .append('\t').append(slot.path)
+                .append('\t').append(slot.status)
+                .append('\t').append(slot.durationMicros)
+                .append('\t').append(slot.routeId != null ? slot.routeId : "-")
+                .append('\t').append(slot.user != null ? slot.user : "-")
+                .append('\t');
+        InetSocketAddress client = slot.client;
+        line.append(client != null && client.getAddress() != null ? client.getAddress().getHostAddress() : "-");
+        line.append('\n');
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+}
@@ -0,0 +1,50 @@
+package com.skilldev.gateway.accesslog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/** {@code app.access-log.*}: sampled access records drained off the event loop to rolling files. */
+@ConfigurationProperties(prefix = "app.access-log")
+public class AccessLogProperties {
+
+    private boolean enabled = true;
+    private String directory = "logs";
+    private String fileName = "access.log";
+    /** The active file is rolled to {@code access.log.1} (and older ones shifted) past this size. */
+    private DataSize maxFileSize = DataSize.ofMegabytes(10);
+    /** Rolled files kept besides the active one. */
+    private int maxHistory = 5;
+    /** Ring buffer slots, rounded up to a power of two; records arriving when it is full are dropped. */
+    private int bufferSize = 8192;
+    /** Fraction of requests logged, 0.0 to 1.0. */
+    private double sampleRate = 1.0;
+    /** Log 5xx responses and errors regardless of sampling. */
+    private boolean alwaysLogErrors = true;
+    /** How long the writer thread sleeps when the buffer is empty. */
+    private Duration idleWait = Duration.ofMillis(50);
+    /** After the file cannot be opened or written, the writer retries this often; records wait in the buffer. */
+    private Duration reopenDelay = Duration.ofSeconds(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public String getDirectory() { return directory; }
+    public void setDirectory(String directory) { this.directory = directory; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public DataSize getMaxFileSize() { return maxFileSize; }
+    public void setMaxFileSize(DataSize maxFileSize) { this.maxFileSize = maxFileSize; }
+    public int getMaxHistory() { return maxHistory; }
+    public void setMaxHistory(int maxHistory) { this.maxHistory = maxHistory; }
+    public int getBufferSize() { return bufferSize; }
+    public void setBufferSize(int bufferSize) { this.bufferSize = bufferSize; }
+    public double getSampleRate() { return sampleRate; }
+    public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+    public boolean isAlwaysLogErrors() { return alwaysLogErrors; }
+    public void setAlwaysLogErrors(boolean alwaysLogErrors) { this.alwaysLogErrors = alwaysLogErrors; }
+    public Duration getIdleWait() { return idleWait; }
+    public void setIdleWait(Duration idleWait) { this.idleWait = idleWait; }
+    public Duration getReopenDelay() { return reopenDelay; }
+    public void setReopenDelay(Duration reopenDelay) { this.reopenDelay = reopenDelay; }
+}
@@ -0,0 +1,104 @@
+package com.skilldev.gateway.accesslog;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Multi-producer, single-consumer ring of pre-allocated {@link Slot}s. A producer claims a
+ * sequence with CAS, fills the slot's fields in place and publishes it by writing the
+ * sequence into the slot; the single consumer reads slots in sequence order. Nothing is
+ * allocated per record: slots only hold references to values the request already has.
+ */
+class AccessLogRingBuffer {
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+
+    AccessLogRingBuffer(int requestedSize) {
+        int size = Integer.highestOneBit(Math.max(2, requestedSize) - 1) << 1;
+        this.slots = new Slot[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /** Copies one record into the ring; {@code false} when the ring is full and it was dropped. */
+    boolean publish(long timestampMillis, String method, String path, int status, long durationMicros,
+                    String routeId, String user, InetSocketAddress client) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.timestampMillis = timestampMillis;
+        slot.method = method;
+        slot.path = path;
+        slot.status = status;
+        slot.durationMicros = durationMicros;
+        slot.routeId = routeId;
+        slot.user = user;
+        slot.client = client;
+        slot.published = sequence;
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} published records to {@code consumer} in order, then frees their
+     * slots. Only the writer thread may call this.
+     */
+    int drain(SlotConsumer consumer, int max) {
+        long next = consumed;
+        int count = 0;
+        while (count < max) {
+            Slot slot = slots[(int) (next & mask)];
+            if (slot.published != next) {
+                break;
+            }
+            consumer.accept(slot);
+            slot.clear();
+            next++;
+            count++;
+        }
+        consumed = next;
+        return count;
+    }
+
+    int backlog() {
+        return (int) (claimed.get() - consumed);
+    }
+
+    int capacity() {
+        return slots.length;
+    }
+
+    interface SlotConsumer {
+        void accept(Slot slot);
+    }
+
+    static final class Slot {
+
+        volatile long published = -1;
+        long timestampMillis;
+        String method;
+        String path;
+        int status;
+        long durationMicros;
+        String routeId;
+        String user;
+        InetSocketAddress client;
+
+        private void clear() {
+            method = null;
+            path = null;
+            routeId = null;
+            user = null;
+            client = null;
+        }
+    }
+}
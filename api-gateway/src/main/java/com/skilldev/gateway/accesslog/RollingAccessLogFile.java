@@ -0,0 +1,70 @@
+package com.skilldev.gateway.accesslog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only access log file that rolls by size: {@code access.log} becomes
+ * {@code access.log.1}, older files shift up, and the one past {@code maxHistory} is deleted.
+ * Used by the writer thread only.
+ */
+class RollingAccessLogFile implements AutoCloseable {
+
+    private final Path active;
+    private final long maxFileSize;
+    private final int maxHistory;
+    private FileChannel channel;
+
+    RollingAccessLogFile(Path directory, String fileName, long maxFileSize, int maxHistory) throws IOException {
+        Files.createDirectories(directory);
+        this.active = directory.resolve(fileName);
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+        open();
+    }
+
+    /** Writes the buffer's remaining bytes, rolling first when they would overflow the file. */
+    void write(ByteBuffer buffer) throws IOException {
+        if (channel.size() > 0 && channel.size() + buffer.remaining() > maxFileSize) {
+            roll();
+        }
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void roll() throws IOException {
+        channel.close();
+        Files.deleteIfExists(rolled(maxHistory));
+        for (int i = maxHistory - 1; i >= 1; i--) {
+            Path from = rolled(i);
+            if (Files.exists(from)) {
+                Files.move(from, rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(active, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(active);
+        }
+        open();
+    }
+
+    private Path rolled(int index) {
+        return active.resolveSibling(active.getFileName() + "." + index);
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(active, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,78 @@
+package com.skilldev.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+/**
+ * Buffers the upstream body so a filter can see it whole before it is written. The handler
+ * receives the response (status and headers still mutable) and the body bytes, and returns
+ * the bytes to send, which may be empty (e.g. after switching to 304).
+ * <p>
+ * At most {@code maxBytes} are held: once the body grows past that, {@code onOverflow} runs
+ * instead of the handler, and the buffers read so far plus the rest of the body are streamed
+ * to the client as they arrive.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final long maxBytes;
+    private final BiFunction<ServerHttpResponse, byte[], byte[]> handler;
+    private final Runnable onOverflow;
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate, long maxBytes,
+                                      BiFunction<ServerHttpResponse, byte[], byte[]> handler,
+                                      Runnable onOverflow) {
+        super(delegate);
+        this.maxBytes = maxBytes;
+        this.handler = handler;
+        this.onOverflow = onOverflow;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        AtomicLong size = new AtomicLong();
+        // One list with the whole body, or, past the limit, the head and then one buffer per list
+        return Flux.<DataBuffer>from(body)
+                .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBytes)
+                .switchOnFirst((first, lists) -> {
+                    Flux<DataBuffer> buffers = lists.flatMapIterable(list -> list);
+                    if (size.get() > maxBytes) {
+                        onOverflow.run();
+                        return getDelegate().writeWith(buffers);
+                    }
+                    return buffers.collectList().flatMap(this::writeCaptured);
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then();
+    }
+
+    @Override
+    public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWith(Flux.from(body).flatMapSequential(p -> p));
+    }
+
+    private Mono<Void> writeCaptured(List<DataBuffer> buffers) {
+        byte[] bytes = new byte[buffers.stream().mapToInt(DataBuffer::readableByteCount).sum()];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        byte[] out = handler.apply(getDelegate(), bytes);
+        if (out.length == 0) {
+            return getDelegate().setComplete();
+        }
+        getDelegate().getHeaders().setContentLength(out.length);
+        return getDelegate().writeWith(Mono.just(bufferFactory().wrap(out)));
+    }
+}
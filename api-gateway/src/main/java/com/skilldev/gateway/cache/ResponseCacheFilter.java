@@ -0,0 +1,238 @@
+package com.skilldev.gateway.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches successful GET responses of the routes listed in {@link ResponseCacheProperties},
+ * each for its route's TTL, in a map bounded by {@code max-entries}. Responses carry a strong
+ * ETag, and a matching {@code If-None-Match} is answered with 304. Any POST, PUT, PATCH or
+ * DELETE through a cached route drops that route's entries before and after it is forwarded;
+ * a GET that was in flight across the write is not stored.
+ * <p>
+ * Runs after {@code JwtAuthGlobalFilter}, so only authenticated requests are served from cache.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private static final Set<HttpMethod> MUTATING =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+    private static final List<String> UNCACHED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE, HttpHeaders.DATE, CACHE_STATUS_HEADER);
+
+    private final ResponseCacheProperties properties;
+    private final Map<String, CachedResponse> cache = new ConcurrentHashMap<>();
+    /** Bumped by every write through a route; a GET only stores if it is unchanged. */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        FunctionCounter.builder("gateway.response.cache", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("gateway.response.cache", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("gateway.response.cache", notModified, AtomicLong::get)
+                .tag("result", "not_modified").register(meterRegistry);
+        FunctionCounter.builder("gateway.response.cache", evictions, AtomicLong::get)
+                .tag("result", "eviction").register(meterRegistry);
+        Gauge.builder("gateway.response.cache.size", cache, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Duration ttl = route != null && properties.isEnabled() ? properties.getRoutes().get(route.getId()) : null;
+        if (ttl == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+        ServerHttpRequest request = exchange.getRequest();
+        if (MUTATING.contains(request.getMethod())) {
+            invalidate(routeId);
+            return chain.filter(exchange).doFinally(signal -> invalidate(routeId));
+        }
+        if (!HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        String key = routeId + " " + request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() != null ? "?" + request.getURI().getRawQuery() : "");
+        long now = System.currentTimeMillis();
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > now) {
+                return serve(exchange, cached);
+            }
+            if (cache.remove(key, cached)) {
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        long generation = generation(routeId).get();
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CapturingResponseDecorator decorated = new CapturingResponseDecorator(exchange.getResponse(),
+                properties.getMaxBodyBytes(),
+                (response, body) -> {
+                    if (!cacheable(response, body)) {
+                        return body;
+                    }
+                    String etag = response.getHeaders().getETag() != null ? response.getHeaders().getETag() : etag(body);
+                    response.getHeaders().setETag(etag);
+                    response.getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+                    store(key, routeId, generation, response, body, etag, ttl);
+                    if (matches(ifNoneMatch, etag)) {
+                        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                        return new byte[0];
+                    }
+                    return body;
+                },
+                // Too big to cache: streamed through uncached
+                () -> { });
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+        if (matches(exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH), cached.etag())) {
+            notModified.incrementAndGet();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        hits.incrementAndGet();
+        response.setStatusCode(cached.status());
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private boolean cacheable(ServerHttpResponse response, byte[] body) {
+        if (!HttpStatus.OK.equals(response.getStatusCode()) || body.length > properties.getMaxBodyBytes()) {
+            return false;
+        }
+        HttpHeaders headers = response.getHeaders();
+        String cacheControl = headers.getCacheControl();
+        return !headers.containsKey(HttpHeaders.SET_COOKIE)
+                && (cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private")));
+    }
+
+    private void store(String key, String routeId, long generation, ServerHttpResponse response,
+                       byte[] body, String etag, Duration ttl) {
+        if (generation(routeId).get() != generation) {
+            return;
+        }
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (UNCACHED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        long now = System.currentTimeMillis();
+        if (cache.size() >= properties.getMaxEntries()) {
+            makeRoom(now);
+        }
+        cache.put(key, new CachedResponse(routeId, response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers),
+                body, etag, now + ttl.toMillis()));
+    }
+
+    private void invalidate(String routeId) {
+        generation(routeId).incrementAndGet();
+        cache.values().removeIf(entry -> {
+            if (entry.routeId().equals(routeId)) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private AtomicLong generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong());
+    }
+
+    /** Drops expired entries first, then arbitrary ones until there is space. */
+    private void makeRoom(long now) {
+        cache.values().removeIf(entry -> {
+            if (entry.expiresAt() <= now) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        });
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= properties.getMaxEntries() && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    /** Weak comparison, as RFC 9110 specifies for If-None-Match. */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 27) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+
+    private record CachedResponse(String routeId, HttpStatusCode status, HttpHeaders headers, byte[] body,
+                                  String etag, long expiresAt) {}
+}
@@ -0,0 +1,30 @@
+package com.skilldev.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code app.response-cache.*}: which routes have their GET responses cached, and for how long.
+ * Only list routes whose responses are the same for every caller.
+ */
+@ConfigurationProperties(prefix = "app.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 1000;
+    private int maxBodyBytes = 1024 * 1024;
+    /** Route id to time-to-live, e.g. {@code routes.course-service=30s}. */
+    private Map<String, Duration> routes = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+    public Map<String, Duration> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Duration> routes) { this.routes = routes; }
+}
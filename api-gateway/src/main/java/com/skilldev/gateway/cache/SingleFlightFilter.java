@@ -0,0 +1,163 @@
+package com.skilldev.gateway.cache;
+
+import com.skilldev.gateway.filter.JwtAuthGlobalFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Opt-in: identical GETs on the routes in {@link SingleFlightProperties} that arrive while one
+ * is already in flight wait for that call and receive a copy of its response instead of going
+ * upstream. The key is path + query + the caller's role (or user, with {@code scope=user}).
+ * <p>
+ * When the leader fails, answers 5xx, sets a cookie, is slower than {@code max-wait}, or its
+ * body exceeds {@code max-body-bytes} (which is then streamed, not held), each waiting follower
+ * makes its own upstream call.
+ */
+@Component
+@EnableConfigurationProperties(SingleFlightProperties.class)
+public class SingleFlightFilter implements GlobalFilter, Ordered {
+
+    private static final List<String> UNSHARED_HEADERS = List.of(
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION,
+            HttpHeaders.SET_COOKIE, HttpHeaders.DATE);
+
+    private final SingleFlightProperties properties;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong leaders = new AtomicLong();
+    private final AtomicLong followers = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    public SingleFlightFilter(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        FunctionCounter.builder("gateway.single-flight.requests", leaders, AtomicLong::get)
+                .tag("role", "leader").register(meterRegistry);
+        FunctionCounter.builder("gateway.single-flight.requests", followers, AtomicLong::get)
+                .tag("role", "follower").register(meterRegistry);
+        FunctionCounter.builder("gateway.single-flight.requests", fallbacks, AtomicLong::get)
+                .tag("role", "fallback").register(meterRegistry);
+        Gauge.builder("gateway.single-flight.collapse.ratio", this, SingleFlightFilter::collapseRatio)
+                .description("Share of eligible GETs answered from another request's upstream call")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || route == null || !properties.getRoutes().contains(route.getId())
+                || !HttpMethod.GET.equals(request.getMethod())) {
+            return chain.filter(exchange);
+        }
+        String key = key(request);
+        Sinks.One<SharedResponse> sink = Sinks.one();
+        Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            followers.incrementAndGet();
+            return leader.asMono()
+                    .timeout(properties.getMaxWait())
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .onErrorReturn(Optional.empty())
+                    .flatMap(shared -> shared.isPresent()
+                            ? write(exchange.getResponse(), shared.get())
+                            : fallback(exchange, chain));
+        }
+        leaders.incrementAndGet();
+        CapturingResponseDecorator decorated = new CapturingResponseDecorator(exchange.getResponse(),
+                properties.getMaxBodyBytes(),
+                (response, body) -> {
+                    publish(key, sink, shareable(response) ? snapshot(response, body) : null);
+                    return body;
+                },
+                () -> publish(key, sink, null));
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(signal -> publish(key, sink, null));
+    }
+
+    public double collapseRatio() {
+        long total = leaders.get() + followers.get();
+        return total == 0 ? 0.0 : (double) followers.get() / total;
+    }
+
+    private String key(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        String scope = "user".equalsIgnoreCase(properties.getScope())
+                ? headers.getFirst(JwtAuthGlobalFilter.USER_HEADER)
+                : headers.getFirst(JwtAuthGlobalFilter.ROLE_HEADER);
+        String query = request.getURI().getRawQuery();
+        return scope + " " + request.getURI().getRawPath() + (query != null ? "?" + query : "");
+    }
+
+    /** First call wins; later calls (e.g. doFinally after a successful publish) do nothing. */
+    private void publish(String key, Sinks.One<SharedResponse> sink, SharedResponse shared) {
+        inFlight.remove(key, sink);
+        if (shared != null) {
+            sink.tryEmitValue(shared);
+        } else {
+            sink.tryEmitEmpty();
+        }
+    }
+
+    private Mono<Void> fallback(ServerWebExchange exchange, GatewayFilterChain chain) {
+        fallbacks.incrementAndGet();
+        return chain.filter(exchange);
+    }
+
+    private static boolean shareable(ServerHttpResponse response) {
+        HttpStatusCode status = response.getStatusCode();
+        return status != null && !status.is5xxServerError()
+                && !response.getHeaders().containsKey(HttpHeaders.SET_COOKIE);
+    }
+
+    private static SharedResponse snapshot(ServerHttpResponse response, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (UNSHARED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return new SharedResponse(response.getStatusCode(), HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * After {@link ResponseCacheFilter}, so cache hits never get here, and wrapping the
+     * response outside the cache's decorator, so the leader's full upstream body is shared
+     * before the cache turns it into a 304.
+     */
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {}
+}
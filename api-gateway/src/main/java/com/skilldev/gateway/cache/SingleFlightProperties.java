@@ -0,0 +1,35 @@
+package com.skilldev.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+/** {@code app.single-flight.*}: routes whose identical concurrent GETs share one upstream call. */
+@ConfigurationProperties(prefix = "app.single-flight")
+public class SingleFlightProperties {
+
+    private boolean enabled = false;
+    private Set<String> routes = new HashSet<>();
+    /**
+     * Part of the key besides path and query: {@code role} shares a response between users of
+     * the same role, {@code user} only between requests of the same user.
+     */
+    private String scope = "role";
+    /** How long a follower waits for the leader before making its own call. */
+    private Duration maxWait = Duration.ofSeconds(5);
+    /** Larger leader responses are streamed to the leader only; followers fall back. */
+    private int maxBodyBytes = 1024 * 1024;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Set<String> getRoutes() { return routes; }
+    public void setRoutes(Set<String> routes) { this.routes = routes; }
+    public String getScope() { return scope; }
+    public void setScope(String scope) { this.scope = scope; }
+    public Duration getMaxWait() { return maxWait; }
+    public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+}
@@ -0,0 +1,110 @@
+package com.skilldev.gateway.concurrency;
+
+import com.skilldev.gateway.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sheds load per {@code lb://} route (and {@code forward:} routes served by the Gateway
+ * itself, such as the dashboard) when it slows down: each route gets an
+ * {@link AdaptiveLimit} on in-flight requests, and a request over it is answered 503 at
+ * once instead of queueing. The round trip is measured from just before load balancing to
+ * the commit of the response, i.e. once the upstream headers have arrived, so a long body
+ * does not read as a slow backend; the slot itself is held until the body is written. 5xx
+ * responses and errors count as congestion; an exchange that fails before committing is
+ * measured at its end.
+ * <p>
+ * Per route: {@code gateway.concurrency.limit}, {@code gateway.concurrency.inflight} and
+ * {@code gateway.concurrency.rejected}.
+ */
+@Component
+@EnableConfigurationProperties(AdaptiveConcurrencyProperties.class)
+public class AdaptiveConcurrencyFilter implements GlobalFilter, Ordered {
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final ApiErrorWriter apiErrorWriter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(AdaptiveConcurrencyProperties properties, ApiErrorWriter apiErrorWriter,
+                                     MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiErrorWriter = apiErrorWriter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null || !limited(route.getUri().getScheme())) {
+            return chain.filter(exchange);
+        }
+        RouteLimit routeLimit = limits.computeIfAbsent(route.getId(), this::register);
+        AdaptiveLimit limit = routeLimit.limit();
+        if (!limit.tryAcquire()) {
+            routeLimit.rejected().increment();
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return apiErrorWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service is overloaded; retry shortly");
+        }
+        long start = System.nanoTime();
+        AtomicLong committedAt = new AtomicLong();
+        exchange.getResponse().beforeCommit(() -> {
+            committedAt.compareAndSet(0, System.nanoTime());
+            return Mono.empty();
+        });
+        return chain.filter(exchange).doFinally(signal -> {
+            long now = System.nanoTime();
+            if (signal == SignalType.CANCEL) {
+                limit.release();
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+            long headersAt = committedAt.get();
+            limit.release((headersAt != 0 ? headersAt : now) - start, failed, now);
+        });
+    }
+
+    private static boolean limited(String scheme) {
+        return "lb".equals(scheme) || "forward".equals(scheme);
+    }
+
+    private RouteLimit register(String routeId) {
+        AdaptiveLimit limit = new AdaptiveLimit(properties);
+        Gauge.builder("gateway.concurrency.limit", limit, AdaptiveLimit::limit)
+                .tag("route", routeId).register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, AdaptiveLimit::inFlight)
+                .tag("route", routeId).register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .tag("route", routeId).register(meterRegistry);
+        return new RouteLimit(limit, rejected);
+    }
+
+    /** Just before the load balancer picks an instance, after every short-circuiting filter. */
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 1;
+    }
+
+    private record RouteLimit(AdaptiveLimit limit, Counter rejected) {}
+}
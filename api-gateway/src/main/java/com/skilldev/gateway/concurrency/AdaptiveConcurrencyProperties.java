@@ -0,0 +1,34 @@
+package com.skilldev.gateway.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** {@code app.adaptive-concurrency.*}: AIMD limit applied to every {@code lb://} and {@code forward:} route. */
+@ConfigurationProperties(prefix = "app.adaptive-concurrency")
+public class AdaptiveConcurrencyProperties {
+
+    private boolean enabled = true;
+    private int initialLimit = 20;
+    private int minLimit = 2;
+    private int maxLimit = 200;
+    /** A sample slower than baseline x tolerance counts as congestion. */
+    private double latencyTolerance = 2.0;
+    /** Multiplier applied to the limit on congestion. */
+    private double backoffRatio = 0.9;
+    /** Weight of a new sample in the baseline latency average. */
+    private double smoothing = 0.05;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getInitialLimit() { return initialLimit; }
+    public void setInitialLimit(int initialLimit) { this.initialLimit = initialLimit; }
+    public int getMinLimit() { return minLimit; }
+    public void setMinLimit(int minLimit) { this.minLimit = minLimit; }
+    public int getMaxLimit() { return maxLimit; }
+    public void setMaxLimit(int maxLimit) { this.maxLimit = maxLimit; }
+    public double getLatencyTolerance() { return latencyTolerance; }
+    public void setLatencyTolerance(double latencyTolerance) { this.latencyTolerance = latencyTolerance; }
+    public double getBackoffRatio() { return backoffRatio; }
+    public void setBackoffRatio(double backoffRatio) { this.backoffRatio = backoffRatio; }
+    public double getSmoothing() { return smoothing; }
+    public void setSmoothing(double smoothing) { this.smoothing = smoothing; }
+}
@@ -0,0 +1,73 @@
+package com.skilldev.gateway.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for one route, adjusted AIMD-style from round-trip samples: each good
+ * sample adds {@code 1/limit} (about +1 per limit's worth of requests), while a sample slower
+ * than the baseline by more than the tolerance, or a failure, multiplies it by the backoff
+ * ratio, at most once per baseline round trip. The baseline is an EWMA that follows drops
+ * quickly and rises slowly, so sustained slowness keeps counting as congestion.
+ */
+final class AdaptiveLimit {
+
+    private final AdaptiveConcurrencyProperties properties;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+    private double baselineNanos;
+    private long lastDecreaseNanos;
+
+    AdaptiveLimit(AdaptiveConcurrencyProperties properties) {
+        this.properties = properties;
+        this.limit = properties.getInitialLimit();
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(long rttNanos, boolean failed, long nowNanos) {
+        inFlight.decrementAndGet();
+        update(rttNanos, failed, nowNanos);
+    }
+
+    /** Releases without a sample, e.g. when the client went away. */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    private synchronized void update(long rttNanos, boolean failed, long nowNanos) {
+        if (baselineNanos == 0) {
+            baselineNanos = rttNanos;
+        }
+        boolean congested = failed || rttNanos > baselineNanos * properties.getLatencyTolerance();
+        if (congested) {
+            if (nowNanos - lastDecreaseNanos > baselineNanos) {
+                limit = Math.max(properties.getMinLimit(), limit * properties.getBackoffRatio());
+                lastDecreaseNanos = nowNanos;
+            }
+        } else {
+            limit = Math.min(properties.getMaxLimit(), limit + 1.0 / limit);
+        }
+        if (!failed) {
+            double alpha = rttNanos < baselineNanos ? properties.getSmoothing() * 4 : properties.getSmoothing() / 4;
+            baselineNanos += (rttNanos - baselineNanos) * Math.min(1.0, alpha);
+        }
+    }
+
+    double limit() {
+        return limit;
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+}
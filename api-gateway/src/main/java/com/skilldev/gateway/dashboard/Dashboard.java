@@ -0,0 +1,9 @@
+package com.skilldev.gateway.dashboard;
+
+import java.util.Map;
+
+/**
+ * One aggregated dashboard document. Sections that failed or missed the latency budget are
+ * absent from {@code sections} and listed in {@code errors} with a short reason.
+ */
+public record Dashboard(Map<String, Object> sections, Map<String, String> errors, boolean partial) {}
@@ -0,0 +1,96 @@
+package com.skilldev.gateway.dashboard;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.skilldev.gateway.filter.IdentityHeaderSigner;
+import com.skilldev.gateway.filter.VerifiedIdentity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancedExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Calls every section's backend concurrently through the load balancer and merges the bodies
+ * into one {@link Dashboard}. Each call gets {@code app.dashboard.section-timeout}; a section
+ * that errors or runs over is reported in {@code errors} instead of failing the whole response.
+ */
+@Service
+public class DashboardAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardAggregator.class);
+
+    private final WebClient webClient;
+    private final Duration sectionTimeout;
+    private final IdentityHeaderSigner identityHeaderSigner;
+
+    public DashboardAggregator(WebClient.Builder webClientBuilder,
+                               LoadBalancedExchangeFilterFunction loadBalancerFunction,
+                               IdentityHeaderSigner identityHeaderSigner,
+                               @Value("${app.dashboard.section-timeout:800ms}") Duration sectionTimeout) {
+        this.webClient = webClientBuilder.filter(loadBalancerFunction).build();
+        this.identityHeaderSigner = identityHeaderSigner;
+        this.sectionTimeout = sectionTimeout;
+    }
+
+    public Mono<Dashboard> aggregate(List<DashboardSection> sections, VerifiedIdentity identity,
+                                     String authorizationHeader) {
+        return Flux.fromIterable(sections)
+                .flatMap(section -> fetch(section, identity, authorizationHeader), sections.size())
+                .collectMap(SectionResult::name)
+                .map(results -> {
+                    Map<String, Object> data = new LinkedHashMap<>();
+                    Map<String, String> errors = new LinkedHashMap<>();
+                    for (DashboardSection section : sections) {
+                        SectionResult result = results.get(section.name());
+                        if (result.error() == null) {
+                            data.put(section.name(), result.body());
+                        } else {
+                            errors.put(section.name(), result.error());
+                        }
+                    }
+                    return new Dashboard(data, errors, !errors.isEmpty());
+                });
+    }
+
+    private Mono<SectionResult> fetch(DashboardSection section, VerifiedIdentity identity, String authorizationHeader) {
+        return webClient.get()
+                .uri("http://" + section.serviceId() + section.path())
+                .headers(headers -> forwardIdentity(headers, identity, authorizationHeader))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(sectionTimeout)
+                .map(body -> new SectionResult(section.name(), body, null))
+                .onErrorResume(e -> {
+                    log.debug("Dashboard section {} from {} failed: {}", section.name(), section.serviceId(), e.toString());
+                    return Mono.just(new SectionResult(section.name(), null, reason(e)));
+                });
+    }
+
+    private void forwardIdentity(HttpHeaders headers, VerifiedIdentity identity, String authorizationHeader) {
+        headers.set(HttpHeaders.AUTHORIZATION, authorizationHeader);
+        identityHeaderSigner.apply(headers, identity);
+    }
+
+    private static String reason(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientResponseException response) {
+            return "upstream status " + response.getStatusCode().value();
+        }
+        return "unavailable";
+    }
+
+    private record SectionResult(String name, JsonNode body, String error) {}
+}
@@ -0,0 +1,94 @@
+package com.skilldev.gateway.dashboard;
+
+import com.skilldev.gateway.filter.JwtAuthGlobalFilter;
+import com.skilldev.gateway.filter.VerifiedIdentity;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Role dashboards assembled in the Gateway from parallel backend calls, so a page needs one
+ * round trip instead of one per section.
+ * <p>
+ * Clients call {@code /api/dashboard/**}, which the {@code dashboard} route forwards here, so
+ * the request passes the same global filters as any other route (authentication, rate limit,
+ * traffic class, circuit breaker, adaptive limit) under route id {@code dashboard}. A request
+ * that reaches {@code /internal/dashboard} without going through that route is answered 404.
+ * The section calls themselves go straight to the backends and are bounded by
+ * {@code app.dashboard.section-timeout}.
+ */
+@RestController
+@RequestMapping("/internal/dashboard")
+public class DashboardController {
+
+    public static final String ROUTE_ID = "dashboard";
+
+    private final DashboardAggregator aggregator;
+
+    public DashboardController(DashboardAggregator aggregator) {
+        this.aggregator = aggregator;
+    }
+
+    /** Admin only: all courses, trainees and trainers. */
+    @GetMapping("/admin")
+    public Mono<ResponseEntity<Dashboard>> admin(ServerWebExchange exchange) {
+        return render(exchange, identity -> hasRole(identity, "ADMIN"), List.of(
+                new DashboardSection("courses", "course-service", "/courses"),
+                new DashboardSection("trainees", "trainee-service", "/trainees"),
+                new DashboardSection("trainers", "trainer-service", "/trainers")));
+    }
+
+    /** Active courses and the trainee's certificates; the trainee themself or an admin. */
+    @GetMapping("/trainee/{id}")
+    public Mono<ResponseEntity<Dashboard>> trainee(
+            @PathVariable Long id, ServerWebExchange exchange) {
+        return render(exchange, identity -> isSelfOrAdmin(identity, "TRAINEE", id), List.of(
+                new DashboardSection("courses", "course-service", "/courses/active"),
+                new DashboardSection("certificates", "certification-service", "/certificates/trainee/" + id)));
+    }
+
+    /** Assessments and the trainer's assigned courses; the trainer themself or an admin. */
+    @GetMapping("/trainer/{id}")
+    public Mono<ResponseEntity<Dashboard>> trainer(
+            @PathVariable Long id, ServerWebExchange exchange) {
+        return render(exchange, identity -> isSelfOrAdmin(identity, "TRAINER", id), List.of(
+                new DashboardSection("assessments", "assessment-service", "/assessments"),
+                new DashboardSection("courses", "course-service", "/courses/trainer/" + id)));
+    }
+
+    private Mono<ResponseEntity<Dashboard>> render(ServerWebExchange exchange, Predicate<VerifiedIdentity> allowed,
+                                                   List<DashboardSection> sections) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !ROUTE_ID.equals(route.getId())) {
+            return Mono.just(ResponseEntity.notFound().build());
+        }
+        VerifiedIdentity identity = exchange.getAttribute(JwtAuthGlobalFilter.IDENTITY_ATTR);
+        if (identity == null) {
+            return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+        }
+        if (!allowed.test(identity)) {
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return aggregator.aggregate(sections, identity, authorization).map(ResponseEntity::ok);
+    }
+
+    private static boolean hasRole(VerifiedIdentity identity, String role) {
+        return role.equalsIgnoreCase(identity.role());
+    }
+
+    private static boolean isSelfOrAdmin(VerifiedIdentity identity, String role, Long id) {
+        return hasRole(identity, "ADMIN") || (hasRole(identity, role) && id.equals(identity.entityId()));
+    }
+}
@@ -0,0 +1,4 @@
+package com.skilldev.gateway.dashboard;
+
+/** One backend call contributing to a dashboard: section name, service id and backend path. */
+public record DashboardSection(String name, String serviceId, String path) {}
@@ -0,0 +1,42 @@
+package com.skilldev.gateway.exception;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ends an exchange in a filter with an {@link ApiError} JSON body, and marks it with
+ * {@link #GATEWAY_REJECTION_ATTR} so outer filters can tell the Gateway's own refusals from
+ * upstream responses.
+ */
+@Component
+public class ApiErrorWriter {
+
+    /** Set (to {@code Boolean.TRUE}) on exchanges answered by the Gateway rather than a backend. */
+    public static final String GATEWAY_REJECTION_ATTR = ApiErrorWriter.class.getName() + ".rejected";
+
+    private final ObjectMapper objectMapper;
+
+    public ApiErrorWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        exchange.getAttributes().put(GATEWAY_REJECTION_ATTR, Boolean.TRUE);
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(ApiError.of(status.value(), message));
+        } catch (JsonProcessingException e) {
+            return response.setComplete();
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,132 @@
+package com.skilldev.gateway.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Caches Security Service's published JWKS as one ready-built {@link JwtParser} per key id.
+ * Keys are refreshed in the background once stale, and on demand when a token names an
+ * unknown key id. Either way at most one fetch starts per {@code app.jwt.jwks-min-refresh-ms},
+ * so neither forged key ids nor a Security Service outage turn into a request flood.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final long refreshMs;
+    private final long minRefreshMs;
+    private final long clockSkewSeconds;
+
+    private volatile Map<String, JwtParser> parsersByKid = Map.of();
+    private volatile long loadedAt;
+    private volatile long lastAttemptAt;
+    private final AtomicReference<Mono<Map<String, JwtParser>>> inFlight = new AtomicReference<>();
+
+    public JwksKeyCache(
+            WebClient.Builder webClientBuilder,
+            @Value("${app.security-service-url:http://localhost:8081}") String securityServiceUrl,
+            @Value("${app.jwt.jwks-refresh-ms:300000}") long refreshMs,
+            @Value("${app.jwt.jwks-min-refresh-ms:30000}") long minRefreshMs,
+            @Value("${app.jwt.clock-skew-seconds:30}") long clockSkewSeconds) {
+        this.webClient = webClientBuilder.build();
+        this.jwksUri = securityServiceUrl + "/auth/jwks";
+        this.refreshMs = refreshMs;
+        this.minRefreshMs = minRefreshMs;
+        this.clockSkewSeconds = clockSkewSeconds;
+    }
+
+    /** Parser for the given key id, or empty when Security Service does not publish it. */
+    public Mono<JwtParser> parserFor(String kid) {
+        long now = System.currentTimeMillis();
+        JwtParser parser = parsersByKid.get(kid);
+        if (parser != null) {
+            if (now - loadedAt > refreshMs && now - lastAttemptAt >= minRefreshMs) {
+                refresh().subscribe();
+            }
+            return Mono.just(parser);
+        }
+        if (now - lastAttemptAt < minRefreshMs) {
+            return Mono.empty();
+        }
+        return refresh().mapNotNull(parsers -> parsers.get(kid));
+    }
+
+    private Mono<Map<String, JwtParser>> refresh() {
+        Mono<Map<String, JwtParser>> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        Mono<Map<String, JwtParser>> fetch = webClient.get()
+                .uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .map(this::toParsers)
+                .doOnNext(parsers -> {
+                    parsersByKid = parsers;
+                    loadedAt = System.currentTimeMillis();
+                })
+                .onErrorResume(e -> {
+                    log.warn("JWKS refresh from {} failed: {}", jwksUri, e.toString());
+                    return Mono.just(parsersByKid);
+                })
+                .doFinally(signal -> inFlight.set(null))
+                .cache();
+        if (!inFlight.compareAndSet(null, fetch)) {
+            running = inFlight.get();
+            return running != null ? running : Mono.just(parsersByKid);
+        }
+        lastAttemptAt = System.currentTimeMillis();
+        return fetch;
+    }
+
+    private Map<String, JwtParser> toParsers(JsonNode jwks) {
+        Map<String, JwtParser> current = parsersByKid;
+        Map<String, JwtParser> next = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            String kid = jwk.path("kid").asText(null);
+            if (kid == null || !"RSA".equals(jwk.path("kty").asText())) {
+                continue;
+            }
+            JwtParser existing = current.get(kid);
+            if (existing != null) {
+                next.put(kid, existing);
+                continue;
+            }
+            try {
+                next.put(kid, Jwts.parser()
+                        .verifyWith(rsaPublicKey(jwk))
+                        .clockSkewSeconds(clockSkewSeconds)
+                        .build());
+            } catch (Exception e) {
+                log.warn("Ignoring unusable JWK {}: {}", kid, e.toString());
+            }
+        }
+        return Map.copyOf(next);
+    }
+
+    private static PublicKey rsaPublicKey(JsonNode jwk) throws Exception {
+        Base64.Decoder decoder = Base64.getUrlDecoder();
+        BigInteger modulus = new BigInteger(1, decoder.decode(jwk.path("n").asText()));
+        BigInteger exponent = new BigInteger(1, decoder.decode(jwk.path("e").asText()));
+        return KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(modulus, exponent));
+    }
+}
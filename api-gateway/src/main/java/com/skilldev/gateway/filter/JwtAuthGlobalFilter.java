@@ -4,40 +4,69 @@ import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
+/**
+ * Verifies the bearer token on /api/** and forwards the verified identity to backends as
+ * {@code X-User}, {@code X-Role} and {@code X-Entity-Id}, signed by {@link IdentityHeaderSigner}.
+ * Client-supplied copies of those headers are always stripped.
+ */
 @Component
 public class JwtAuthGlobalFilter implements GlobalFilter, Ordered {
 
-    private final JwtValidationClient jwtValidationClient;
+    public static final String USER_HEADER = "X-User";
+    public static final String ROLE_HEADER = "X-Role";
+    public static final String ENTITY_ID_HEADER = "X-Entity-Id";
+    /** Exchange attribute holding the {@link VerifiedIdentity}, for filters outside the route chain. */
+    public static final String IDENTITY_ATTR = JwtAuthGlobalFilter.class.getName() + ".identity";
+
+    private final JwtAuthenticator jwtAuthenticator;
+    private final IdentityHeaderSigner identityHeaderSigner;
 
-    public JwtAuthGlobalFilter(JwtValidationClient jwtValidationClient) {
-        this.jwtValidationClient = jwtValidationClient;
+    public JwtAuthGlobalFilter(JwtAuthenticator jwtAuthenticator, IdentityHeaderSigner identityHeaderSigner) {
+        this.jwtAuthenticator = jwtAuthenticator;
+        this.identityHeaderSigner = identityHeaderSigner;
     }
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
-        String path = exchange.getRequest().getPath().value();
+        ServerWebExchange stripped = withIdentity(exchange, null);
+        String path = stripped.getRequest().getPath().value();
 
         if (!path.startsWith("/api/")) {
-            return chain.filter(exchange);
+            return chain.filter(stripped);
         }
         if (path.startsWith("/api/auth/login") || path.startsWith("/api/auth/register")) {
-            return chain.filter(exchange);
+            return chain.filter(stripped);
         }
 
-        String auth = exchange.getRequest().getHeaders().getFirst("Authorization");
+        String auth = stripped.getRequest().getHeaders().getFirst("Authorization");
         if (auth == null || !auth.startsWith("Bearer ")) {
-            return unauthorized(exchange);
+            return unauthorized(stripped);
         }
 
-        return jwtValidationClient.validate(auth)
-                .flatMap(valid -> Boolean.TRUE.equals(valid)
-                        ? chain.filter(exchange)
-                        : unauthorized(exchange))
-                .onErrorResume(e -> unauthorized(exchange));
+        return jwtAuthenticator.authenticate(auth)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(identity -> {
+                    if (identity.isEmpty()) {
+                        return unauthorized(stripped);
+                    }
+                    stripped.getAttributes().put(IDENTITY_ATTR, identity.get());
+                    return chain.filter(withIdentity(stripped, identity.get()));
+                });
+    }
+
+    private ServerWebExchange withIdentity(ServerWebExchange exchange, VerifiedIdentity identity) {
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> identityHeaderSigner.apply(headers, identity))
+                .build();
+        return exchange.mutate().request(request).build();
     }
 
     private Mono<Void> unauthorized(ServerWebExchange exchange) {
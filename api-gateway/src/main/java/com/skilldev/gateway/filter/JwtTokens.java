@@ -0,0 +1,46 @@
+package com.skilldev.gateway.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.Base64;
+
+/**
+ * Reads the header or payload segment of a compact JWT without checking the signature.
+ * Only for routing decisions (key id, expiry); never trust the result on its own.
+ */
+final class JwtTokens {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JwtTokens() {
+    }
+
+    static JsonNode header(String token) {
+        return segment(token, 0);
+    }
+
+    static JsonNode payload(String token) {
+        return segment(token, 1);
+    }
+
+    static String keyId(String token) {
+        JsonNode header = header(token);
+        return header != null && header.hasNonNull("kid") ? header.get("kid").asText() : null;
+    }
+
+    private static JsonNode segment(String token, int index) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            return null;
+        }
+        try {
+            return MAPPER.readTree(Base64.getUrlDecoder().decode(parts[index]));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -1,28 +1,234 @@
 package com.skilldev.gateway.filter;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remote token validation against Security Service, with a bounded cache of results keyed
+ * by a SHA-256 hash of the token. An entry never outlives the token's {@code exp} claim,
+ * and concurrent misses for one token share a single in-flight call.
+ * <p>
+ * With {@code app.jwt.validation-batch.enabled=true}, misses arriving within
+ * {@code window-ms} of each other (or until {@code max-size} are queued) are sent as one
+ * {@code POST /auth/validate/batch} call instead of one call per token.
+ */
 @Component
 public class JwtValidationClient {
 
+    private static final double EVICT_TO_FRACTION = 0.9;
+
     private final WebClient webClient;
     private final String validateUri;
+    private final String validateBatchUri;
+    private final boolean batchEnabled;
+    private final long batchWindowMs;
+    private final int batchMaxSize;
+    private final int maxEntries;
+    private final long ttlMs;
+    private final long negativeTtlMs;
+
+    private final Map<String, CachedResult> cache = new ConcurrentHashMap<>();
+    private final Map<String, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+
+    private final Queue<PendingValidation> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
 
     public JwtValidationClient(
             WebClient.Builder webClientBuilder,
-            @Value("${app.security-service-url:http://localhost:8081}") String securityServiceUrl) {
+            @Value("${app.security-service-url:http://localhost:8081}") String securityServiceUrl,
+            @Value("${app.jwt.validation-cache.max-entries:10000}") int maxEntries,
+            @Value("${app.jwt.validation-cache.ttl-ms:300000}") long ttlMs,
+            @Value("${app.jwt.validation-cache.negative-ttl-ms:30000}") long negativeTtlMs,
+            @Value("${app.jwt.validation-batch.enabled:false}") boolean batchEnabled,
+            @Value("${app.jwt.validation-batch.window-ms:2}") long batchWindowMs,
+            @Value("${app.jwt.validation-batch.max-size:200}") int batchMaxSize,
+            MeterRegistry meterRegistry) {
         this.validateUri = securityServiceUrl + "/auth/validate";
+        this.validateBatchUri = securityServiceUrl + "/auth/validate/batch";
+        this.batchEnabled = batchEnabled;
+        this.batchWindowMs = batchWindowMs;
+        this.batchMaxSize = batchMaxSize;
         this.webClient = webClientBuilder.build();
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.negativeTtlMs = negativeTtlMs;
+        FunctionCounter.builder("gateway.jwt.validation.cache", hits, AtomicLong::get)
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("gateway.jwt.validation.cache", misses, AtomicLong::get)
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("gateway.jwt.validation.cache", evictions, AtomicLong::get)
+                .tag("result", "eviction").register(meterRegistry);
+        Gauge.builder("gateway.jwt.validation.cache.size", cache, Map::size).register(meterRegistry);
     }
 
     public Mono<Boolean> validate(String authorizationHeader) {
+        String token = authorizationHeader.startsWith("Bearer ")
+                ? authorizationHeader.substring(7)
+                : authorizationHeader;
+        String key = hash(token);
+        CachedResult cached = cache.get(key);
+        if (cached != null) {
+            if (cached.expiresAt() > System.currentTimeMillis()) {
+                hits.incrementAndGet();
+                return Mono.just(cached.valid());
+            }
+            if (cache.remove(key, cached)) {
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        Mono<Boolean> call = batchEnabled ? batchedValidate(token) : remoteValidate(authorizationHeader);
+        return inFlight.computeIfAbsent(key, k -> call
+                .doOnNext(valid -> store(k, token, valid))
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    private Mono<Boolean> remoteValidate(String authorizationHeader) {
         return webClient.post()
                 .uri(validateUri)
                 .header("Authorization", authorizationHeader)
                 .retrieve()
                 .bodyToMono(Boolean.class);
     }
+
+    private Mono<Boolean> batchedValidate(String token) {
+        return Mono.create(sink -> {
+            pending.add(new PendingValidation(token, sink));
+            if (pendingCount.incrementAndGet() >= batchMaxSize) {
+                Schedulers.parallel().schedule(this::flush);
+            } else if (flushScheduled.compareAndSet(false, true)) {
+                Schedulers.parallel().schedule(this::flush, batchWindowMs, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        List<PendingValidation> batch = new ArrayList<>();
+        PendingValidation next;
+        while (batch.size() < batchMaxSize && (next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+        }
+        if (!pending.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(this::flush);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> tokens = batch.stream().map(PendingValidation::token).toList();
+        webClient.post()
+                .uri(validateBatchUri)
+                .bodyValue(Map.of("tokens", tokens))
+                .retrieve()
+                .bodyToFlux(BatchResult.class)
+                .collectList()
+                .subscribe(results -> {
+                    for (int i = 0; i < batch.size(); i++) {
+                        batch.get(i).sink().success(i < results.size() && results.get(i).valid());
+                    }
+                }, error -> batch.forEach(p -> p.sink().error(error)));
+    }
+
+    private void store(String key, String token, Boolean valid) {
+        long now = System.currentTimeMillis();
+        long ttl = Boolean.TRUE.equals(valid) ? ttlMs : Math.min(ttlMs, negativeTtlMs);
+        JsonNode payload = JwtTokens.payload(token);
+        if (payload != null && payload.hasNonNull("exp")) {
+            ttl = Math.min(ttl, payload.get("exp").asLong() * 1000 - now);
+        }
+        if (ttl <= 0) {
+            return;
+        }
+        if (cache.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        cache.put(key, new CachedResult(Boolean.TRUE.equals(valid), now + ttl));
+    }
+
+    /**
+     * Drops expired entries first, then arbitrary ones down to {@link #EVICT_TO_FRACTION} of
+     * capacity, so the scan is paid once per that many inserts rather than on every insert at
+     * capacity. Only one caller compacts at a time; the others insert and go on.
+     */
+    private void makeRoom(long now) {
+        if (!compacting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            int target = (int) (maxEntries * EVICT_TO_FRACTION);
+            Iterator<CachedResult> values = cache.values().iterator();
+            while (values.hasNext()) {
+                if (values.next().expiresAt() <= now) {
+                    values.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+            Iterator<String> keys = cache.keySet().iterator();
+            while (cache.size() > target && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            compacting.set(false);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedResult(boolean valid, long expiresAt) {}
+
+    private record PendingValidation(String token, MonoSink<Boolean> sink) {}
+
+    private record BatchResult(boolean valid) {}
 }
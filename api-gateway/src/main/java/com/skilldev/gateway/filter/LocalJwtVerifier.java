@@ -0,0 +1,36 @@
+package com.skilldev.gateway.filter;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Verifies JWT signature and expiry inside the Gateway using the cached JWKS,
+ * so routing does not wait on a call to Security Service.
+ */
+@Component
+public class LocalJwtVerifier {
+
+    private final JwksKeyCache jwksKeyCache;
+
+    public LocalJwtVerifier(JwksKeyCache jwksKeyCache) {
+        this.jwksKeyCache = jwksKeyCache;
+    }
+
+    /** Verified claims, or empty when the token is malformed, expired, or not signed by a published key. */
+    public Mono<Claims> verify(String token) {
+        String kid = JwtTokens.keyId(token);
+        if (kid == null) {
+            return Mono.empty();
+        }
+        return jwksKeyCache.parserFor(kid)
+                .mapNotNull(parser -> {
+                    try {
+                        return parser.parseSignedClaims(token).getPayload();
+                    } catch (JwtException | IllegalArgumentException e) {
+                        return null;
+                    }
+                });
+    }
+}
@@ -0,0 +1,23 @@
+package com.skilldev.gateway.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.jsonwebtoken.Claims;
+
+/** Caller identity taken from a JWT whose signature has already been checked. */
+public record VerifiedIdentity(String username, String role, Long entityId) {
+
+    static VerifiedIdentity of(Claims claims) {
+        Object eid = claims.get("eid");
+        return new VerifiedIdentity(
+                claims.getSubject(),
+                claims.get("role", String.class),
+                eid instanceof Number n ? n.longValue() : null);
+    }
+
+    static VerifiedIdentity of(JsonNode payload) {
+        return new VerifiedIdentity(
+                payload.path("sub").asText(null),
+                payload.path("role").asText(null),
+                payload.hasNonNull("eid") ? payload.get("eid").asLong() : null);
+    }
+}
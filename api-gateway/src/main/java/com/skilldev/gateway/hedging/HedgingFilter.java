@@ -0,0 +1,288 @@
+package com.skilldev.gateway.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.ReactiveDiscoveryClient;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedges GETs on the routes and paths in {@link HedgingProperties}: the load balancer's pick is tried
+ * first, and if it has not answered within the route's recent p95 (by default) a second
+ * attempt goes to a different instance and whichever completes first is returned. The p95 is
+ * taken over primaries only, counting one that lost to its hedge as lasting until the
+ * exchange finished. Each route has a {@link RetryBudget}, so hedges never exceed
+ * {@code budget-ratio} of its traffic on this instance (every Gateway instance applies the
+ * same ratio, which bounds the cluster as a whole).
+ * <p>
+ * Both attempts are buffered in full, so only requests matching {@code paths} are hedged; list
+ * endpoints whose responses have a known, small bound (single-entity lookups, not listings).
+ * Everything else is left to the Netty routing filter and streamed as usual. A response that
+ * still exceeds {@code max-body-bytes} is not failed: the exchange falls back to normal
+ * routing, which repeats the GET without a hedge. Metrics:
+ * {@code gateway.hedge.requests{route,outcome}} and {@code gateway.hedge.budget{route}}.
+ * <p>
+ * The route's bulkhead and adaptive limit (which run before this filter) see one call per
+ * exchange: the hedge shares the primary's slot rather than taking its own. A hedged route may
+ * therefore put up to {@code budget-ratio} more requests on its backend than those limits
+ * show; keep the ratio small, and size {@code max-concurrent-calls} with that headroom.
+ */
+@Component
+@EnableConfigurationProperties(HedgingProperties.class)
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    private static final long DELAY_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final HedgingProperties properties;
+    private final ReactiveDiscoveryClient discoveryClient;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+    private final List<PathPattern> paths;
+    private final Map<String, RouteHedge> hedges = new ConcurrentHashMap<>();
+
+    public HedgingFilter(HedgingProperties properties, ReactiveDiscoveryClient discoveryClient,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                         WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.discoveryClient = discoveryClient;
+        this.headersFilters = headersFilters;
+        this.meterRegistry = meterRegistry;
+        this.webClient = webClientBuilder
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxBodyBytes()))
+                .build();
+        PathPatternParser parser = new PathPatternParser();
+        this.paths = properties.getPaths().stream().map(parser::parse).toList();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI primary = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (!properties.isEnabled() || route == null || primary == null
+                || !properties.getRoutes().contains(route.getId())
+                || !"lb".equals(route.getUri().getScheme())
+                || exchange.getRequest().getMethod() != HttpMethod.GET
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)
+                || !boundedPath(exchange)) {
+            return chain.filter(exchange);
+        }
+        RouteHedge hedge = hedges.computeIfAbsent(route.getId(), this::register);
+        hedge.budget().recordRequest();
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        HttpHeaders requestHeaders = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+
+        long start = System.nanoTime();
+        AtomicBoolean primaryRecorded = new AtomicBoolean();
+        Runnable recordPrimary = () -> {
+            if (primaryRecorded.compareAndSet(false, true)) {
+                hedge.latency().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+        Mono<ResponseEntity<byte[]>> first = call(primary, requestHeaders)
+                .doOnSuccess(response -> recordPrimary.run())
+                .cache();
+        Mono<ResponseEntity<byte[]>> second = Mono.delay(hedge.delay(properties))
+                .takeUntilOther(first)
+                .flatMap(tick -> alternate(route.getUri().getHost(), primary, hedge))
+                .filter(alternate -> {
+                    if (hedge.budget().tryWithdraw()) {
+                        return true;
+                    }
+                    hedge.budgetExhausted().increment();
+                    return false;
+                })
+                .flatMap(alternate -> {
+                    hedge.sent().increment();
+                    return call(alternate, requestHeaders);
+                })
+                .doOnNext(response -> hedge.hedgeWon().increment())
+                .switchIfEmpty(first);
+
+        return Mono.firstWithValue(first, second)
+                .onErrorResume(e -> first)
+                .flatMap(response -> write(exchange, response))
+                .onErrorResume(HedgingFilter::tooLarge, e -> {
+                    // Nothing written yet: let the Netty routing filter stream it instead
+                    hedge.tooLarge().increment();
+                    ServerWebExchangeUtils.removeAlreadyRouted(exchange);
+                    return chain.filter(exchange);
+                })
+                // A primary beaten by its hedge (or cancelled) took at least this long; dropping
+                // it would leave only the fast primaries and pull the hedge delay down
+                .doFinally(signal -> recordPrimary.run());
+    }
+
+    /** Matched against the external path, before any StripPrefix. */
+    private boolean boundedPath(ServerWebExchange exchange) {
+        Set<URI> originals = exchange.getAttributeOrDefault(
+                ServerWebExchangeUtils.GATEWAY_ORIGINAL_REQUEST_URL_ATTR, Set.of());
+        URI external = originals.isEmpty() ? exchange.getRequest().getURI() : originals.iterator().next();
+        PathContainer path = PathContainer.parsePath(external.getRawPath());
+        for (PathPattern pattern : paths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean tooLarge(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<ResponseEntity<byte[]>> call(URI uri, HttpHeaders headers) {
+        return webClient.get()
+                .uri(uri)
+                .headers(h -> h.addAll(headers))
+                .exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+
+    /** Same request URI on a random instance other than the primary one, if there is one. */
+    private Mono<URI> alternate(String serviceId, URI primary, RouteHedge hedge) {
+        return discoveryClient.getInstances(serviceId)
+                .filter(instance -> !(instance.getHost().equals(primary.getHost()) && instance.getPort() == primary.getPort()))
+                .collectList()
+                .filter(instances -> {
+                    if (instances.isEmpty()) {
+                        hedge.noAlternate().increment();
+                        return false;
+                    }
+                    return true;
+                })
+                .map(instances -> {
+                    ServiceInstance instance = instances.get(ThreadLocalRandom.current().nextInt(instances.size()));
+                    return LoadBalancerUriTools.reconstructURI(instance, primary);
+                });
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<byte[]> upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.getStatusCode());
+        HttpHeaders headers = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), upstream.getHeaders(),
+                exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.getHeaders().putAll(headers);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        byte[] body = upstream.getBody() != null ? upstream.getBody() : new byte[0];
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private RouteHedge register(String routeId) {
+        Timer latency = Timer.builder("gateway.hedge.latency")
+                .tag("route", routeId)
+                .publishPercentiles(properties.getPercentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        RetryBudget budget = new RetryBudget(properties.getBudgetRatio(), properties.getBudgetBurst());
+        Gauge.builder("gateway.hedge.budget", budget, RetryBudget::available)
+                .tag("route", routeId).register(meterRegistry);
+        return new RouteHedge(latency, budget, counter(routeId, "sent"),
+                counter(routeId, "won"), counter(routeId, "budget_exhausted"), counter(routeId, "no_alternate"),
+                counter(routeId, "too_large"));
+    }
+
+    private Counter counter(String routeId, String outcome) {
+        return Counter.builder("gateway.hedge.requests")
+                .tag("route", routeId).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+
+    private static final class RouteHedge {
+
+        private final Timer latency;
+        private final RetryBudget budget;
+        private final Counter sent;
+        private final Counter hedgeWon;
+        private final Counter budgetExhausted;
+        private final Counter noAlternate;
+        private final Counter tooLarge;
+        private volatile Duration delay;
+        private volatile long delayComputedAt;
+
+        RouteHedge(Timer latency, RetryBudget budget, Counter sent,
+                   Counter hedgeWon, Counter budgetExhausted, Counter noAlternate, Counter tooLarge) {
+            this.latency = latency;
+            this.budget = budget;
+            this.sent = sent;
+            this.hedgeWon = hedgeWon;
+            this.budgetExhausted = budgetExhausted;
+            this.noAlternate = noAlternate;
+            this.tooLarge = tooLarge;
+        }
+
+        /** Recent latency percentile, clamped; recomputed at most once a second. */
+        Duration delay(HedgingProperties properties) {
+            long now = System.nanoTime();
+            Duration current = delay;
+            if (current != null && now - delayComputedAt < DELAY_REFRESH_NANOS) {
+                return current;
+            }
+            Duration computed = properties.getMaxDelay();
+            if (latency.count() >= properties.getMinSamples()) {
+                for (ValueAtPercentile v : latency.takeSnapshot().percentileValues()) {
+                    computed = Duration.ofNanos((long) v.value(TimeUnit.NANOSECONDS));
+                }
+                if (computed.compareTo(properties.getMinDelay()) < 0) {
+                    computed = properties.getMinDelay();
+                } else if (computed.compareTo(properties.getMaxDelay()) > 0) {
+                    computed = properties.getMaxDelay();
+                }
+            }
+            delay = computed;
+            delayComputedAt = now;
+            return computed;
+        }
+
+        Timer latency() { return latency; }
+        RetryBudget budget() { return budget; }
+        Counter sent() { return sent; }
+        Counter hedgeWon() { return hedgeWon; }
+        Counter budgetExhausted() { return budgetExhausted; }
+        Counter noAlternate() { return noAlternate; }
+        Counter tooLarge() { return tooLarge; }
+    }
+}
@@ -0,0 +1,56 @@
+package com.skilldev.gateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code app.hedging.*}: hedged GETs on the listed {@code lb://} route ids, limited to
+ * {@code paths} (none by default, so nothing is hedged until they are set). The hedge delay
+ * tracks the route's recent latency percentile, clamped to {@code [min-delay, max-delay]}.
+ */
+@ConfigurationProperties(prefix = "app.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = false;
+    private Set<String> routes = new HashSet<>();
+    /** Spring path patterns on the external path; only endpoints with small, bounded responses. */
+    private List<String> paths = new ArrayList<>();
+    /** Latency percentile of recent primary attempts used as the hedge delay. */
+    private double percentile = 0.95;
+    private Duration minDelay = Duration.ofMillis(20);
+    private Duration maxDelay = Duration.ofSeconds(1);
+    /** Until a route has this many samples the hedge delay is {@code max-delay}. */
+    private int minSamples = 50;
+    /** Hedges allowed per primary request, e.g. 0.1 = at most 10% extra load. */
+    private double budgetRatio = 0.1;
+    /** Most hedges that can be saved up during quiet periods. */
+    private int budgetBurst = 10;
+    /** Hedged responses are buffered up to this size; a bigger one is re-fetched through normal routing. */
+    private int maxBodyBytes = 1024 * 1024;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Set<String> getRoutes() { return routes; }
+    public void setRoutes(Set<String> routes) { this.routes = routes; }
+    public List<String> getPaths() { return paths; }
+    public void setPaths(List<String> paths) { this.paths = paths; }
+    public double getPercentile() { return percentile; }
+    public void setPercentile(double percentile) { this.percentile = percentile; }
+    public Duration getMinDelay() { return minDelay; }
+    public void setMinDelay(Duration minDelay) { this.minDelay = minDelay; }
+    public Duration getMaxDelay() { return maxDelay; }
+    public void setMaxDelay(Duration maxDelay) { this.maxDelay = maxDelay; }
+    public int getMinSamples() { return minSamples; }
+    public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    public double getBudgetRatio() { return budgetRatio; }
+    public void setBudgetRatio(double budgetRatio) { this.budgetRatio = budgetRatio; }
+    public int getBudgetBurst() { return budgetBurst; }
+    public void setBudgetBurst(int budgetBurst) { this.budgetBurst = budgetBurst; }
+    public int getMaxBodyBytes() { return maxBodyBytes; }
+    public void setMaxBodyBytes(int maxBodyBytes) { this.maxBodyBytes = maxBodyBytes; }
+}
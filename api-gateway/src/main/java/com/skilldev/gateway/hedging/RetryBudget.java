@@ -0,0 +1,41 @@
+package com.skilldev.gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Earns a fraction of a token per primary request and spends a whole token per extra
+ * attempt, so extra attempts stay below {@code ratio} of primary traffic however bad the
+ * backend gets. Tokens are kept in thousandths to stay integral.
+ */
+class RetryBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long deposit;
+    private final long cap;
+    private final AtomicLong balance = new AtomicLong();
+
+    RetryBudget(double ratio, int burst) {
+        this.deposit = Math.round(ratio * SCALE);
+        this.cap = Math.max(1, burst) * SCALE;
+    }
+
+    void recordRequest() {
+        balance.getAndUpdate(b -> Math.min(cap, b + deposit));
+    }
+
+    boolean tryWithdraw() {
+        long current;
+        do {
+            current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+        } while (!balance.compareAndSet(current, current - SCALE));
+        return true;
+    }
+
+    double available() {
+        return balance.get() / (double) SCALE;
+    }
+}
@@ -0,0 +1,45 @@
+package com.skilldev.gateway.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Event count over a sliding window, kept as a ring of fixed-width slots. A slot is reset
+ * lazily by the first writer that finds it holding an older epoch; an increment racing that
+ * reset can be lost, which is acceptable for a rate estimate.
+ */
+class RollingCounter {
+
+    private final int slots;
+    private final long slotNanos;
+    private final AtomicLongArray counts;
+    private final AtomicLongArray epochs;
+
+    RollingCounter(int slots, long windowNanos) {
+        this.slots = slots;
+        this.slotNanos = Math.max(1, windowNanos / slots);
+        this.counts = new AtomicLongArray(slots);
+        this.epochs = new AtomicLongArray(slots);
+    }
+
+    void increment(long nowNanos) {
+        long epoch = nowNanos / slotNanos;
+        int slot = (int) Math.floorMod(epoch, (long) slots);
+        long seen = epochs.get(slot);
+        if (seen != epoch && epochs.compareAndSet(slot, seen, epoch)) {
+            counts.set(slot, 0);
+        }
+        counts.incrementAndGet(slot);
+    }
+
+    /** Events per second over the window ending at {@code nowNanos}. */
+    double ratePerSecond(long nowNanos) {
+        long current = nowNanos / slotNanos;
+        long total = 0;
+        for (int i = 0; i < slots; i++) {
+            if (epochs.get(i) > current - slots) {
+                total += counts.get(i);
+            }
+        }
+        return total / (slots * slotNanos / 1e9);
+    }
+}
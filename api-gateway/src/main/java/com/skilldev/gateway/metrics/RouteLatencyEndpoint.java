@@ -0,0 +1,32 @@
+package com.skilldev.gateway.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/routelatency}: rolling p50/p90/p99/p999, max and request rate per
+ * route, status class and upstream instance, plus JWT verification on its own.
+ */
+@Component
+@Endpoint(id = "routelatency")
+public class RouteLatencyEndpoint {
+
+    private final RouteMetrics routeMetrics;
+
+    public RouteLatencyEndpoint(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @ReadOperation
+    public Map<String, Object> latency() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("window", routeMetrics.window().toString());
+        body.put("routes", routeMetrics.summaries(RouteMetrics.ROUTE_TIMER));
+        body.put("jwtVerification", routeMetrics.summaries(RouteMetrics.JWT_TIMER));
+        return body;
+    }
+}
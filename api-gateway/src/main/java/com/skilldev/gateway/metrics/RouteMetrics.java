@@ -0,0 +1,109 @@
+package com.skilldev.gateway.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers with rolling percentiles ({@code p50/p90/p99/p999} over
+ * {@code app.route-metrics.window}) and windowed request rates. Two families:
+ * {@code gateway.route.latency{route,status,instance}} for whole requests and
+ * {@code gateway.jwt.verification{mode,result}} for token checks alone.
+ */
+@Component
+@EnableConfigurationProperties(RouteMetricsProperties.class)
+public class RouteMetrics {
+
+    static final String ROUTE_TIMER = "gateway.route.latency";
+    static final String JWT_TIMER = "gateway.jwt.verification";
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final int RATE_SLOTS = 60;
+
+    private final RouteMetricsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, Series> series = new ConcurrentHashMap<>();
+
+    public RouteMetrics(RouteMetricsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void recordRequest(String routeId, String statusClass, String instance, long nanos) {
+        record(new Key(ROUTE_TIMER, List.of("route", routeId, "status", statusClass, "instance", instance)), nanos);
+    }
+
+    public void recordJwtVerification(String mode, boolean valid, long nanos) {
+        record(new Key(JWT_TIMER, List.of("mode", mode, "result", valid ? "valid" : "rejected")), nanos);
+    }
+
+    public Duration window() {
+        return properties.getWindow();
+    }
+
+    /** Current rolling view of one timer family, slowest p99 first. */
+    public List<LatencySummary> summaries(String timerName) {
+        long now = System.nanoTime();
+        return series.entrySet().stream()
+                .filter(e -> e.getKey().name().equals(timerName))
+                .map(e -> summarize(e.getKey(), e.getValue(), now))
+                .sorted(Comparator.comparingDouble(LatencySummary::p99Ms).reversed())
+                .toList();
+    }
+
+    private void record(Key key, long nanos) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Series s = series.computeIfAbsent(key, this::register);
+        s.timer().record(nanos, TimeUnit.NANOSECONDS);
+        s.rate().increment(System.nanoTime());
+    }
+
+    private Series register(Key key) {
+        Timer timer = Timer.builder(key.name())
+                .tags(key.tags().toArray(String[]::new))
+                .publishPercentiles(PERCENTILES)
+                .publishPercentileHistogram(properties.isPercentileHistogram())
+                .distributionStatisticExpiry(properties.getWindow())
+                .distributionStatisticBufferLength(properties.getBufferLength())
+                .register(meterRegistry);
+        return new Series(timer, new RollingCounter(RATE_SLOTS, properties.getWindow().toNanos()));
+    }
+
+    private static LatencySummary summarize(Key key, Series s, long now) {
+        HistogramSnapshot snapshot = s.timer().takeSnapshot();
+        double[] values = new double[PERCENTILES.length];
+        for (ValueAtPercentile v : snapshot.percentileValues()) {
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                if (v.percentile() == PERCENTILES[i]) {
+                    values[i] = v.value(TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < key.tags().size(); i += 2) {
+            tags.put(key.tags().get(i), key.tags().get(i + 1));
+        }
+        return new LatencySummary(tags, s.timer().count(), s.rate().ratePerSecond(now),
+                values[0], values[1], values[2], values[3], snapshot.max(TimeUnit.MILLISECONDS));
+    }
+
+    /** Rolling percentiles in milliseconds; {@code count} is since startup, {@code ratePerSecond} over the window. */
+    public record LatencySummary(Map<String, String> tags, long count, double ratePerSecond,
+                                 double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {}
+
+    private record Key(String name, List<String> tags) {}
+
+    private record Series(Timer timer, RollingCounter rate) {}
+}
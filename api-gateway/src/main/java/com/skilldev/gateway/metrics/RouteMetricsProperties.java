@@ -0,0 +1,27 @@
+package com.skilldev.gateway.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** {@code app.route-metrics.*}: rolling latency distributions per route, status class and instance. */
+@ConfigurationProperties(prefix = "app.route-metrics")
+public class RouteMetricsProperties {
+
+    private boolean enabled = true;
+    /** How far back percentiles and request rates look. */
+    private Duration window = Duration.ofMinutes(5);
+    /** Number of histograms rotated through the window; more means smoother decay. */
+    private int bufferLength = 5;
+    /** Also publish the underlying histogram buckets (for server-side percentile aggregation). */
+    private boolean percentileHistogram = false;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public int getBufferLength() { return bufferLength; }
+    public void setBufferLength(int bufferLength) { this.bufferLength = bufferLength; }
+    public boolean isPercentileHistogram() { return percentileHistogram; }
+    public void setPercentileHistogram(boolean percentileHistogram) { this.percentileHistogram = percentileHistogram; }
+}
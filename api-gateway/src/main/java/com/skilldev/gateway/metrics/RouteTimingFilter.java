@@ -0,0 +1,71 @@
+package com.skilldev.gateway.metrics;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.URI;
+
+/**
+ * Times every request end to end, including token verification and all Gateway filters,
+ * and records it under the matched route id, the response status class and the upstream
+ * instance chosen by the load balancer. A web filter rather than a global filter, so it
+ * also covers Gateway-local endpoints (route {@code local}); actuator calls are skipped.
+ */
+@Component
+public class RouteTimingFilter implements WebFilter, Ordered {
+
+    private final RouteMetrics routeMetrics;
+
+    public RouteTimingFilter(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (exchange.getRequest().getPath().value().startsWith("/actuator")) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            routeMetrics.recordRequest(
+                    route != null ? route.getId() : "local",
+                    statusClass(exchange, signal),
+                    instance(exchange, route),
+                    System.nanoTime() - start);
+        });
+    }
+
+    private static String statusClass(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "cancelled";
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (signal == SignalType.ON_ERROR || status == null) {
+            return "5xx";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    /** host:port the request was sent to, or {@code none} when it never left the Gateway. */
+    private static String instance(ServerWebExchange exchange, Route route) {
+        URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || url == null || "lb".equals(url.getScheme()) || url.getHost() == null) {
+            return "none";
+        }
+        return url.getPort() > 0 ? url.getHost() + ":" + url.getPort() : url.getHost();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
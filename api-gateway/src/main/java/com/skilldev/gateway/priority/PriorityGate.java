@@ -0,0 +1,138 @@
+package com.skilldev.gateway.priority;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared pool of {@code capacity} slots. A class may only take a slot while total use is under
+ * its ceiling and no higher class is waiting; otherwise it joins its class's bounded queue.
+ * Freed slots go to waiters highest class first.
+ */
+final class PriorityGate {
+
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final int capacity;
+    private final Map<TrafficClass, Integer> limits = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, Integer> queueSizes;
+    private final Map<TrafficClass, Deque<Waiter>> queues = new EnumMap<>(TrafficClass.class);
+    private final Map<TrafficClass, AtomicInteger> inFlightByClass = new EnumMap<>(TrafficClass.class);
+    private int inFlight;
+
+    PriorityGate(int capacity, Map<TrafficClass, Double> ceilings, Map<TrafficClass, Integer> queueSizes) {
+        this.capacity = capacity;
+        this.queueSizes = queueSizes;
+        for (TrafficClass c : TrafficClass.values()) {
+            limits.put(c, (int) Math.max(1, Math.round(capacity * ceilings.getOrDefault(c, 1.0))));
+            queues.put(c, new ArrayDeque<>());
+            inFlightByClass.put(c, new AtomicInteger());
+        }
+    }
+
+    /** Completes when a slot is held; empty when the request should be shed. */
+    Mono<TrafficClass> acquire(TrafficClass trafficClass, Duration maxWait) {
+        Mono<TrafficClass> slot = Mono.create(sink -> {
+            Waiter waiter;
+            synchronized (this) {
+                if (canRun(trafficClass)) {
+                    take(trafficClass);
+                    sink.success(trafficClass);
+                    return;
+                }
+                Deque<Waiter> queue = queues.get(trafficClass);
+                if (maxWait.isZero() || queue.size() >= queueSizes.getOrDefault(trafficClass, 0)) {
+                    sink.success();
+                    return;
+                }
+                waiter = new Waiter(trafficClass, sink);
+                queue.addLast(waiter);
+            }
+            sink.onCancel(() -> abandon(waiter));
+        });
+        return maxWait.isZero() ? slot : slot.timeout(maxWait, Mono.empty());
+    }
+
+    void release(TrafficClass trafficClass) {
+        synchronized (this) {
+            inFlight--;
+            inFlightByClass.get(trafficClass).decrementAndGet();
+            for (TrafficClass c : TrafficClass.values()) {
+                Deque<Waiter> queue = queues.get(c);
+                while (!queue.isEmpty() && inFlight < limits.get(c)) {
+                    Waiter waiter = queue.pollFirst();
+                    if (waiter.state.compareAndSet(WAITING, GRANTED)) {
+                        take(c);
+                        waiter.sink.success(c);
+                    }
+                }
+                if (!queue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /** A waiter that timed out or was cancelled; gives back a slot granted in the meantime. */
+    private void abandon(Waiter waiter) {
+        if (waiter.state.compareAndSet(WAITING, CANCELLED)) {
+            synchronized (this) {
+                queues.get(waiter.trafficClass).remove(waiter);
+            }
+        } else if (waiter.state.get() == GRANTED) {
+            release(waiter.trafficClass);
+        }
+    }
+
+    private boolean canRun(TrafficClass trafficClass) {
+        if (inFlight >= limits.get(trafficClass)) {
+            return false;
+        }
+        for (TrafficClass higher : TrafficClass.values()) {
+            if (higher == trafficClass) {
+                return true;
+            }
+            if (!queues.get(higher).isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void take(TrafficClass trafficClass) {
+        inFlight++;
+        inFlightByClass.get(trafficClass).incrementAndGet();
+    }
+
+    int inFlight(TrafficClass trafficClass) {
+        return inFlightByClass.get(trafficClass).get();
+    }
+
+    synchronized int queued(TrafficClass trafficClass) {
+        return queues.get(trafficClass).size();
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    private static final class Waiter {
+
+        final TrafficClass trafficClass;
+        final MonoSink<TrafficClass> sink;
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        Waiter(TrafficClass trafficClass, MonoSink<TrafficClass> sink) {
+            this.trafficClass = trafficClass;
+            this.sink = sink;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.skilldev.gateway.priority;
+
+/** Admission priority, highest first. */
+public enum TrafficClass {
+    CRITICAL, STANDARD, BEST_EFFORT;
+
+    /** Accepts {@code best-effort}, {@code BEST_EFFORT}, etc.; {@code null} when unknown. */
+    public static TrafficClass parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public String headerValue() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
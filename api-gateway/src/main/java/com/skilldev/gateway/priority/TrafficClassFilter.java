@@ -0,0 +1,132 @@
+package com.skilldev.gateway.priority;
+
+import com.skilldev.gateway.exception.ApiErrorWriter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classifies each request as critical, standard or best-effort (see
+ * {@link TrafficClassProperties}) and admits it through a {@link PriorityGate}, so under
+ * saturation best-effort requests are shed first and critical ones wait for the next free
+ * slot. Shed requests get 503 with Retry-After. The class is forwarded to backends as
+ * {@code X-Traffic-Class}; a client-supplied value is replaced. Only paths in
+ * {@code gated-paths} (the API) are admitted through the gate.
+ */
+@Component
+@EnableConfigurationProperties(TrafficClassProperties.class)
+public class TrafficClassFilter implements GlobalFilter, Ordered {
+
+    public static final String TRAFFIC_CLASS_HEADER = "X-Traffic-Class";
+    public static final String ROUTE_METADATA_KEY = "traffic-class";
+
+    private final TrafficClassProperties properties;
+    private final ApiErrorWriter apiErrorWriter;
+    private final PriorityGate gate;
+    private final List<CompiledRule> rules;
+    private final List<PathPattern> gatedPaths;
+    private final Map<TrafficClass, Counter> shed = new EnumMap<>(TrafficClass.class);
+
+    public TrafficClassFilter(TrafficClassProperties properties, ApiErrorWriter apiErrorWriter,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiErrorWriter = apiErrorWriter;
+        this.gate = new PriorityGate(properties.getMaxConcurrent(), properties.getCeilings(),
+                properties.getQueueSizes());
+        PathPatternParser parser = new PathPatternParser();
+        this.rules = properties.getRules().stream()
+                .map(rule -> new CompiledRule(rule.getMethod(), parser.parse(rule.getPath()), rule.getTrafficClass()))
+                .toList();
+        this.gatedPaths = properties.getGatedPaths().stream().map(parser::parse).toList();
+        for (TrafficClass c : TrafficClass.values()) {
+            String tag = c.headerValue();
+            shed.put(c, Counter.builder("gateway.traffic.shed").tag("class", tag).register(meterRegistry));
+            Gauge.builder("gateway.traffic.inflight", gate, g -> g.inFlight(c)).tag("class", tag).register(meterRegistry);
+            Gauge.builder("gateway.traffic.queued", gate, g -> g.queued(c)).tag("class", tag).register(meterRegistry);
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        TrafficClass trafficClass = classify(exchange);
+        ServerHttpRequest request = exchange.getRequest().mutate()
+                .headers(headers -> headers.set(TRAFFIC_CLASS_HEADER, trafficClass.headerValue()))
+                .build();
+        ServerWebExchange classified = exchange.mutate().request(request).build();
+        if (!properties.isEnabled() || !gated(exchange)) {
+            return chain.filter(classified);
+        }
+        Duration maxWait = properties.getMaxWaits().getOrDefault(trafficClass, Duration.ZERO);
+        return gate.acquire(trafficClass, maxWait)
+                .map(c -> true)
+                .defaultIfEmpty(false)
+                .flatMap(admitted -> {
+                    if (!admitted) {
+                        shed.get(trafficClass).increment();
+                        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                        return apiErrorWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                                "Gateway is busy; retry shortly");
+                    }
+                    return chain.filter(classified).doFinally(signal -> gate.release(trafficClass));
+                });
+    }
+
+    private boolean gated(ServerWebExchange exchange) {
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        for (PathPattern pattern : gatedPaths) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    TrafficClass classify(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+        for (CompiledRule rule : rules) {
+            boolean methodMatches = rule.method() == null || rule.method().isBlank()
+                    || rule.method().equalsIgnoreCase(request.getMethod().name());
+            if (methodMatches && rule.pattern().matches(path)) {
+                return rule.trafficClass();
+            }
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route != null) {
+            Object value = route.getMetadata().get(ROUTE_METADATA_KEY);
+            TrafficClass fromRoute = value != null ? TrafficClass.parse(value.toString()) : null;
+            if (fromRoute != null) {
+                return fromRoute;
+            }
+        }
+        return properties.getDefaultClass();
+    }
+
+    /** After authentication and per-user rate limiting, before any work is done for the request. */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 20;
+    }
+
+    private record CompiledRule(String method, PathPattern pattern, TrafficClass trafficClass) {}
+}
@@ -0,0 +1,71 @@
+package com.skilldev.gateway.priority;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code app.traffic-classes.*}: how requests are classified and how much of the Gateway's
+ * concurrency each class may use. A request takes the class of the first matching rule, else
+ * its route's {@code traffic-class} metadata, else {@code default-class}.
+ */
+@ConfigurationProperties(prefix = "app.traffic-classes")
+public class TrafficClassProperties {
+
+    private boolean enabled = true;
+    /** Requests the Gateway forwards at once across all classes. */
+    private int maxConcurrent = 256;
+    /**
+     * Path patterns that take a slot; everything else (the frontend route) passes ungated.
+     * A frontend page holding a slot while its own /api calls queue behind it would deadlock.
+     */
+    private List<String> gatedPaths = new ArrayList<>(List.of("/api/**"));
+    private TrafficClass defaultClass = TrafficClass.STANDARD;
+    private List<Rule> rules = new ArrayList<>();
+    /** Fraction of {@code max-concurrent} a class may occupy. */
+    private Map<TrafficClass, Double> ceilings = new EnumMap<>(Map.of(
+            TrafficClass.CRITICAL, 1.0, TrafficClass.STANDARD, 0.8, TrafficClass.BEST_EFFORT, 0.5));
+    /** Requests a class may have waiting for a slot; beyond that they are shed. */
+    private Map<TrafficClass, Integer> queueSizes = new EnumMap<>(Map.of(
+            TrafficClass.CRITICAL, 512, TrafficClass.STANDARD, 128, TrafficClass.BEST_EFFORT, 0));
+    private Map<TrafficClass, Duration> maxWaits = new EnumMap<>(Map.of(
+            TrafficClass.CRITICAL, Duration.ofSeconds(5), TrafficClass.STANDARD, Duration.ofSeconds(1),
+            TrafficClass.BEST_EFFORT, Duration.ZERO));
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+    public List<String> getGatedPaths() { return gatedPaths; }
+    public void setGatedPaths(List<String> gatedPaths) { this.gatedPaths = gatedPaths; }
+    public TrafficClass getDefaultClass() { return defaultClass; }
+    public void setDefaultClass(TrafficClass defaultClass) { this.defaultClass = defaultClass; }
+    public List<Rule> getRules() { return rules; }
+    public void setRules(List<Rule> rules) { this.rules = rules; }
+    public Map<TrafficClass, Double> getCeilings() { return ceilings; }
+    public void setCeilings(Map<TrafficClass, Double> ceilings) { this.ceilings = ceilings; }
+    public Map<TrafficClass, Integer> getQueueSizes() { return queueSizes; }
+    public void setQueueSizes(Map<TrafficClass, Integer> queueSizes) { this.queueSizes = queueSizes; }
+    public Map<TrafficClass, Duration> getMaxWaits() { return maxWaits; }
+    public void setMaxWaits(Map<TrafficClass, Duration> maxWaits) { this.maxWaits = maxWaits; }
+
+    public static class Rule {
+
+        /** HTTP method, or empty for any. */
+        private String method;
+        /** Spring path pattern on the external path, e.g. {@code /api/courses/**}. */
+        private String path;
+        private TrafficClass trafficClass;
+
+        public String getMethod() { return method; }
+        public void setMethod(String method) { this.method = method; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public TrafficClass getTrafficClass() { return trafficClass; }
+        public void setTrafficClass(TrafficClass trafficClass) { this.trafficClass = trafficClass; }
+    }
+}
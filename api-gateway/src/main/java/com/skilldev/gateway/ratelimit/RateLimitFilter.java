@@ -0,0 +1,105 @@
+package com.skilldev.gateway.ratelimit;
+
+import com.skilldev.gateway.exception.ApiErrorWriter;
+import com.skilldev.gateway.filter.JwtAuthGlobalFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user, per-route token buckets for the routes in {@link RateLimitProperties}, held in
+ * memory (no external store, so each Gateway instance enforces its own share). The key is the
+ * verified {@code X-User}, or the client address for unauthenticated paths. A rejected request
+ * gets 429 with {@code Retry-After}; every limited response carries {@code X-RateLimit-Limit},
+ * {@code X-RateLimit-Remaining} and {@code X-RateLimit-Reset}.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+    private final ApiErrorWriter apiErrorWriter;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Counter rejected;
+
+    public RateLimitFilter(RateLimitProperties properties, ApiErrorWriter apiErrorWriter,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiErrorWriter = apiErrorWriter;
+        this.rejected = Counter.builder("gateway.rate-limit.rejected").register(meterRegistry);
+        Gauge.builder("gateway.rate-limit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RateLimitProperties.Limit limit = route != null && properties.isEnabled()
+                ? properties.getRoutes().get(route.getId())
+                : null;
+        if (limit == null) {
+            return chain.filter(exchange);
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.computeIfAbsent(route.getId() + " " + subject(exchange),
+                key -> new TokenBucket(limit.getCapacity(), limit.getRefillPerSecond(), now));
+        long result = bucket.tryAcquire(now);
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(LIMIT_HEADER, String.valueOf(bucket.capacity()));
+        headers.set(REMAINING_HEADER, String.valueOf(Math.max(0, result)));
+        headers.set(RESET_HEADER, String.valueOf(seconds(bucket.nanosUntilFull(now))));
+        if (result >= 0) {
+            return chain.filter(exchange);
+        }
+        rejected.increment();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(-result)));
+        return apiErrorWriter.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded; retry later");
+    }
+
+    /** Drops buckets that have not seen a request for {@code idle-timeout}. */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.lastSeenNanos() - cutoff < 0);
+    }
+
+    private static String subject(ServerWebExchange exchange) {
+        String user = exchange.getRequest().getHeaders().getFirst(JwtAuthGlobalFilter.USER_HEADER);
+        if (user != null) {
+            return "user:" + user;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return "ip:" + (remote != null ? remote.getHostString() : "unknown");
+    }
+
+    private static long seconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999));
+    }
+
+    /** Right after authentication, so the subject is the verified user. */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+}
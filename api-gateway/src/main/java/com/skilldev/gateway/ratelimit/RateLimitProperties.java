@@ -0,0 +1,39 @@
+package com.skilldev.gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code app.rate-limit.*}: token-bucket limits per route id, applied per authenticated user,
+ * e.g. {@code routes.assessment-service.capacity=20} and {@code .refill-per-second=5}.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    /** Buckets unused for this long are dropped by the sweep (a dropped bucket restarts full). */
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private Map<String, Limit> routes = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getIdleTimeout() { return idleTimeout; }
+    public void setIdleTimeout(Duration idleTimeout) { this.idleTimeout = idleTimeout; }
+    public Map<String, Limit> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Limit> routes) { this.routes = routes; }
+
+    public static class Limit {
+
+        /** Burst size: tokens a full bucket holds. */
+        private int capacity = 20;
+        private double refillPerSecond = 5;
+
+        public int getCapacity() { return capacity; }
+        public void setCapacity(int capacity) { this.capacity = capacity; }
+        public double getRefillPerSecond() { return refillPerSecond; }
+        public void setRefillPerSecond(double refillPerSecond) { this.refillPerSecond = refillPerSecond; }
+    }
+}
@@ -0,0 +1,58 @@
+package com.skilldev.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: the whole state is one immutable value swapped with CAS, refilled
+ * lazily from the time elapsed since the last update.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastSeenNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastSeenNanos = nowNanos;
+    }
+
+    /**
+     * Takes one token if available. Returns the tokens left (>= 0), or when empty the
+     * negated nanoseconds until the next token (< 0).
+     */
+    long tryAcquire(long nowNanos) {
+        lastSeenNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double tokens = Math.min(capacity, current.tokens() + (nowNanos - current.updatedAt()) * refillPerNano);
+            if (tokens < 1) {
+                return -Math.max(1, (long) Math.ceil((1 - tokens) / refillPerNano));
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return (long) (tokens - 1);
+            }
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /** Nanoseconds until the bucket would be full again. */
+    long nanosUntilFull(long nowNanos) {
+        State current = state.get();
+        double tokens = Math.min(capacity, current.tokens() + (nowNanos - current.updatedAt()) * refillPerNano);
+        return (long) ((capacity - tokens) / refillPerNano);
+    }
+
+    /** Last request seen, allowed or not. */
+    long lastSeenNanos() {
+        return lastSeenNanos;
+    }
+
+    private record State(double tokens, long updatedAt) {}
+}
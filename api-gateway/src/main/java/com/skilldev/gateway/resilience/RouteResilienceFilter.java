@@ -0,0 +1,149 @@
+package com.skilldev.gateway.resilience;
+
+import com.skilldev.gateway.exception.ApiErrorWriter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps each route in {@link RouteResilienceProperties} with a Resilience4j circuit breaker
+ * and a semaphore bulkhead, so one stalled backend cannot tie up connections meant for the
+ * others. An open circuit or a full bulkhead is answered 503 with an {@code ApiError} body at
+ * once; after the open wait a few half-open probes decide whether to close again. 5xx
+ * responses and errors count as failures, and the call duration covers the full response.
+ * Requests refused later in the Gateway itself (adaptive limit) are recorded as neither.
+ * <p>
+ * Metrics: {@code resilience4j.circuitbreaker.*} and {@code resilience4j.bulkhead.*} tagged by
+ * route name, plus {@code gateway.circuit.transitions{route,from,to}}.
+ */
+@Component
+@EnableConfigurationProperties(RouteResilienceProperties.class)
+public class RouteResilienceFilter implements GlobalFilter, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteResilienceFilter.class);
+
+    private final RouteResilienceProperties properties;
+    private final ApiErrorWriter apiErrorWriter;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.ofDefaults();
+    private final BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+    private final Map<String, Guard> guards = new ConcurrentHashMap<>();
+
+    public RouteResilienceFilter(RouteResilienceProperties properties, ApiErrorWriter apiErrorWriter,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiErrorWriter = apiErrorWriter;
+        this.meterRegistry = meterRegistry;
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        RouteResilienceProperties.Policy policy = route != null && properties.isEnabled()
+                ? properties.getRoutes().get(route.getId())
+                : null;
+        if (policy == null) {
+            return chain.filter(exchange);
+        }
+        Guard guard = guards.computeIfAbsent(route.getId(), id -> register(id, policy));
+        CircuitBreaker circuitBreaker = guard.circuitBreaker();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, policy.getWaitDurationInOpenState().toSeconds())));
+            return apiErrorWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Service " + route.getId() + " is temporarily unavailable; retry later");
+        }
+        Bulkhead bulkhead = guard.bulkhead();
+        if (!bulkhead.tryAcquirePermission()) {
+            circuitBreaker.releasePermission();
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            return apiErrorWriter.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many concurrent requests to " + route.getId() + "; retry shortly");
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> {
+            bulkhead.onComplete();
+            long duration = System.nanoTime() - start;
+            if (signal == SignalType.CANCEL || exchange.getAttribute(ApiErrorWriter.GATEWAY_REJECTION_ATTR) != null) {
+                // Not an upstream outcome, e.g. the adaptive limiter refused the call
+                circuitBreaker.releasePermission();
+                return;
+            }
+            HttpStatusCode status = exchange.getResponse().getStatusCode();
+            if (signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError())) {
+                circuitBreaker.onError(duration, TimeUnit.NANOSECONDS,
+                        new UpstreamFailure(route.getId(), status));
+            } else {
+                circuitBreaker.onSuccess(duration, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private Guard register(String routeId, RouteResilienceProperties.Policy policy) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(routeId, CircuitBreakerConfig.custom()
+                .failureRateThreshold(policy.getFailureRateThreshold())
+                .slowCallDurationThreshold(policy.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(policy.getSlowCallRateThreshold())
+                .slidingWindowSize(policy.getSlidingWindowSize())
+                .minimumNumberOfCalls(policy.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(policy.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(policy.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build());
+        circuitBreaker.getEventPublisher().onStateTransition(event -> {
+            CircuitBreaker.StateTransition transition = event.getStateTransition();
+            log.info("Circuit for route {}: {} -> {}", routeId, transition.getFromState(), transition.getToState());
+            meterRegistry.counter("gateway.circuit.transitions", "route", routeId,
+                    "from", transition.getFromState().name(), "to", transition.getToState().name()).increment();
+        });
+        Bulkhead bulkhead = bulkheads.bulkhead(routeId, BulkheadConfig.custom()
+                .maxConcurrentCalls(policy.getMaxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        return new Guard(circuitBreaker, bulkhead);
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 2;
+    }
+
+    private record Guard(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {}
+
+    /** Recorded as the circuit breaker's failure cause; never thrown. */
+    private static class UpstreamFailure extends RuntimeException {
+
+        UpstreamFailure(String routeId, HttpStatusCode status) {
+            super("Route " + routeId + " failed" + (status != null ? " with " + status.value() : ""), null, false, false);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.skilldev.gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code app.resilience.*}: a circuit breaker and a concurrent-call bulkhead per route id,
+ * e.g. {@code routes.certification-service.max-concurrent-calls=10}. Routes not listed are
+ * not wrapped.
+ */
+@ConfigurationProperties(prefix = "app.resilience")
+public class RouteResilienceProperties {
+
+    private boolean enabled = true;
+    private Map<String, Policy> routes = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Map<String, Policy> getRoutes() { return routes; }
+    public void setRoutes(Map<String, Policy> routes) { this.routes = routes; }
+
+    public static class Policy {
+
+        /** Percentage of failed calls (5xx or error) in the window that opens the circuit. */
+        private float failureRateThreshold = 50;
+        /** Calls slower than this count as slow; enough of them also open the circuit. */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(5);
+        private float slowCallRateThreshold = 80;
+        /** Count-based window of recent calls the rates are computed over. */
+        private int slidingWindowSize = 20;
+        private int minimumNumberOfCalls = 10;
+        /** How long an open circuit fails fast before letting probes through. */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        private int permittedCallsInHalfOpenState = 3;
+        /** Bulkhead size: calls in flight to the route at once; the rest are rejected immediately. */
+        private int maxConcurrentCalls = 25;
+
+        public float getFailureRateThreshold() { return failureRateThreshold; }
+        public void setFailureRateThreshold(float failureRateThreshold) { this.failureRateThreshold = failureRateThreshold; }
+        public Duration getSlowCallDurationThreshold() { return slowCallDurationThreshold; }
+        public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) { this.slowCallDurationThreshold = slowCallDurationThreshold; }
+        public float getSlowCallRateThreshold() { return slowCallRateThreshold; }
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) { this.slowCallRateThreshold = slowCallRateThreshold; }
+        public int getSlidingWindowSize() { return slidingWindowSize; }
+        public void setSlidingWindowSize(int slidingWindowSize) { this.slidingWindowSize = slidingWindowSize; }
+        public int getMinimumNumberOfCalls() { return minimumNumberOfCalls; }
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) { this.minimumNumberOfCalls = minimumNumberOfCalls; }
+        public Duration getWaitDurationInOpenState() { return waitDurationInOpenState; }
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) { this.waitDurationInOpenState = waitDurationInOpenState; }
+        public int getPermittedCallsInHalfOpenState() { return permittedCallsInHalfOpenState; }
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) { this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState; }
+        public int getMaxConcurrentCalls() { return maxConcurrentCalls; }
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) { this.maxConcurrentCalls = maxConcurrentCalls; }
+    }
+}
@@ -0,0 +1,143 @@
+package com.skilldev.gateway.accesslog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Ordering, wrap-around, drop-on-full and concurrent producers of {@link AccessLogRingBuffer}. */
+class AccessLogRingBufferTest {
+
+    @Test
+    void sizeIsRoundedUpToAPowerOfTwo() {
+        assertEquals(8, new AccessLogRingBuffer(5).capacity());
+        assertEquals(8, new AccessLogRingBuffer(8).capacity());
+        assertEquals(2, new AccessLogRingBuffer(0).capacity());
+    }
+
+    @Test
+    void drainsInPublishOrderAndClearsSlots() {
+        AccessLogRingBuffer ring = new AccessLogRingBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertTrue(publish(ring, "r", i));
+        }
+        List<AccessLogRingBuffer.Slot> seen = new ArrayList<>();
+        List<Long> order = new ArrayList<>();
+
+        assertEquals(3, ring.drain(slot -> {
+            seen.add(slot);
+            order.add(slot.durationMicros);
+        }, 3));
+        assertEquals(2, ring.drain(slot -> order.add(slot.durationMicros), 10));
+
+        assertEquals(List.of(0L, 1L, 2L, 3L, 4L), order);
+        assertEquals(0, ring.backlog());
+        assertNull(seen.get(0).path);
+    }
+
+    @Test
+    void wrapsAroundManyTimes() {
+        AccessLogRingBuffer ring = new AccessLogRingBuffer(4);
+        List<Long> order = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            assertTrue(publish(ring, "r", i));
+            if (i % 3 == 2) {
+                ring.drain(slot -> order.add(slot.durationMicros), 4);
+            }
+        }
+        ring.drain(slot -> order.add(slot.durationMicros), 4);
+
+        assertEquals(100, order.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, order.get(i));
+        }
+    }
+
+    @Test
+    void dropsWhenFullUntilDrained() {
+        AccessLogRingBuffer ring = new AccessLogRingBuffer(4);
+        int dropped = 0;
+        for (int i = 0; i < 10; i++) {
+            if (!publish(ring, "r", i)) {
+                dropped++;
+            }
+        }
+        assertEquals(6, dropped);
+        assertEquals(4, ring.backlog());
+
+        List<Long> order = new ArrayList<>();
+        ring.drain(slot -> order.add(slot.durationMicros), 10);
+        assertEquals(List.of(0L, 1L, 2L, 3L), order);
+        assertTrue(publish(ring, "r", 10));
+    }
+
+    @Test
+    void concurrentProducersLoseNothingTheyWereToldWasAccepted() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        AccessLogRingBuffer ring = new AccessLogRingBuffer(256);
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong dropped = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            String producer = "p" + p;
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < perProducer; i++) {
+                    if (publish(ring, producer, i)) {
+                        accepted.incrementAndGet();
+                    } else {
+                        dropped.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        long[] lastSeen = new long[producers];
+        Arrays.fill(lastSeen, -1);
+        AtomicLong consumed = new AtomicLong();
+        AtomicBoolean outOfOrder = new AtomicBoolean();
+        AccessLogRingBuffer.SlotConsumer consumer = slot -> {
+            int producer = Integer.parseInt(slot.routeId.substring(1));
+            // Each producer's records come out in its own order (dropped ones leave gaps)
+            if (slot.durationMicros <= lastSeen[producer] || !slot.path.equals("/" + slot.durationMicros)) {
+                outOfOrder.set(true);
+            }
+            lastSeen[producer] = slot.durationMicros;
+            consumed.incrementAndGet();
+        };
+        start.countDown();
+        while (threads.stream().anyMatch(Thread::isAlive)) {
+            ring.drain(consumer, 64);
+        }
+        while (ring.drain(consumer, 64) > 0) {
+            // remaining records
+        }
+
+        assertEquals((long) producers * perProducer, accepted.get() + dropped.get());
+        assertEquals(accepted.get(), consumed.get());
+        assertEquals(0, ring.backlog());
+        assertFalse(outOfOrder.get());
+    }
+
+    private static boolean publish(AccessLogRingBuffer ring, String routeId, long sequence) {
+        return ring.publish(sequence, "GET", "/" + sequence, 200, sequence, routeId, null, null);
+    }
+}
@@ -0,0 +1,150 @@
+package com.skilldev.gateway.filter;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the Gateway's authentication step per request: local verification against the
+ * cached JWKS ({@code app.jwt.verification-mode=local}) versus the remote
+ * {@code POST /auth/validate} call, uncached and with the validation cache. A local HTTP server
+ * stands in for Security Service and does the same RS256 check it does, so the remote numbers
+ * are a lower bound (no real network). Sample mode reports p50/p99/p99.9:
+ * <pre>
+ * cd api-gateway
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="JwtVerificationBenchmark"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String KID = "bench";
+
+    private HttpServer securityService;
+    private LocalJwtVerifier localVerifier;
+    private JwtValidationClient remoteUncached;
+    private JwtValidationClient remoteCached;
+    private String token;
+    private String bearer;
+
+    @Setup
+    public void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        KeyPair keyPair = generator.generateKeyPair();
+        token = Jwts.builder()
+                .header().keyId(KID).and()
+                .subject("trainee")
+                .claim("role", "TRAINEE")
+                .claim("eid", 1L)
+                .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(keyPair.getPrivate(), Jwts.SIG.RS256)
+                .compact();
+        bearer = "Bearer " + token;
+
+        JwtParser securityServiceParser = Jwts.parser().verifyWith(keyPair.getPublic()).build();
+        RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
+        String jwks = "{\"keys\":[{\"kty\":\"RSA\",\"kid\":\"" + KID + "\",\"alg\":\"RS256\",\"n\":\""
+                + base64Url(publicKey.getModulus()) + "\",\"e\":\"" + base64Url(publicKey.getPublicExponent()) + "\"}]}";
+        securityService = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        securityService.setExecutor(Executors.newFixedThreadPool(8));
+        securityService.createContext("/auth/jwks", exchange -> respond(exchange, jwks));
+        securityService.createContext("/auth/validate", exchange -> {
+            String auth = exchange.getRequestHeaders().getFirst("Authorization");
+            boolean valid;
+            try {
+                securityServiceParser.parseSignedClaims(auth.substring(7));
+                valid = true;
+            } catch (RuntimeException e) {
+                valid = false;
+            }
+            respond(exchange, String.valueOf(valid));
+        });
+        securityService.start();
+        String url = "http://127.0.0.1:" + securityService.getAddress().getPort();
+
+        localVerifier = new LocalJwtVerifier(new JwksKeyCache(WebClient.builder(), url, 300_000, 30_000, 30));
+        // ttl-ms = 0 stores nothing, so every call goes to Security Service
+        remoteUncached = new JwtValidationClient(WebClient.builder(), url, 10_000, 0, 0, false, 2, 200,
+                new SimpleMeterRegistry());
+        remoteCached = new JwtValidationClient(WebClient.builder(), url, 10_000, 300_000, 30_000, false, 2, 200,
+                new SimpleMeterRegistry());
+        if (localVerifier.verify(token).block() == null || !Boolean.TRUE.equals(remoteUncached.validate(bearer).block())) {
+            throw new IllegalStateException("Benchmark token does not verify");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        securityService.stop(0);
+    }
+
+    @Benchmark
+    public Object local() {
+        return localVerifier.verify(token).block();
+    }
+
+    @Benchmark
+    public Boolean remote() {
+        return remoteUncached.validate(bearer).block();
+    }
+
+    @Benchmark
+    public Boolean remoteWithCache() {
+        return remoteCached.validate(bearer).block();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            byte[] unsigned = new byte[bytes.length - 1];
+            System.arraycopy(bytes, 1, unsigned, 0, unsigned.length);
+            bytes = unsigned;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
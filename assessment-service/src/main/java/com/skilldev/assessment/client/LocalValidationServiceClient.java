@@ -0,0 +1,49 @@
+package com.skilldev.assessment.client;
+
+import com.skilldev.assessment.client.dto.AssessmentValidationRequest;
+import com.skilldev.assessment.client.dto.ValidationResult;
+import com.skilldev.validation.rules.ValidationRules;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the shared validation rules in-process instead of calling Validation Service when
+ * {@code app.validation.mode=local}; with {@code remote} the Feign client is used. Rules come
+ * from {@code app.validation.rules-file} (hot-reloaded) when set, else the bundled defaults.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.validation.mode", havingValue = "local")
+public class LocalValidationServiceClient implements ValidationServiceClient {
+
+    private final ValidationRules rules;
+
+    public LocalValidationServiceClient(
+            @Value("${app.validation.rules-file:}") String rulesFile,
+            @Value("${app.validation.rules-reload-interval:5s}") Duration reloadInterval) {
+        this.rules = ValidationRules.load(rulesFile, reloadInterval);
+    }
+
+    @Override
+    public ValidationResult validateAssessment(AssessmentValidationRequest request) {
+        List<String> errors = rules.validateAssessment(
+                request.passingScore(), request.maxScore(), request.traineeScore());
+        return new ValidationResult(errors.isEmpty(), errors);
+    }
+
+    @Override
+    public List<ValidationResult> validateAssessmentBatch(List<AssessmentValidationRequest> requests) {
+        return requests.stream().map(this::validateAssessment).toList();
+    }
+
+    @PreDestroy
+    void close() {
+        rules.close();
+    }
+}
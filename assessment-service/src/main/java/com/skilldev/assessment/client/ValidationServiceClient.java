@@ -6,9 +6,15 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "validation-service")
+import java.util.List;
+
+@FeignClient(name = "validation-service", primary = false)
 public interface ValidationServiceClient {
 
     @PostMapping("/validate/assessment")
     ValidationResult validateAssessment(@RequestBody AssessmentValidationRequest request);
+
+    /** Validates many requests in one call; result {@code i} belongs to request {@code i}. */
+    @PostMapping("/validate/assessment/batch")
+    List<ValidationResult> validateAssessmentBatch(@RequestBody List<AssessmentValidationRequest> requests);
 }
@@ -0,0 +1,49 @@
+package com.skilldev.certification.client;
+
+import com.skilldev.certification.client.dto.CertificationValidationRequest;
+import com.skilldev.certification.client.dto.ValidationResult;
+import com.skilldev.validation.rules.ValidationRules;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the shared validation rules in-process instead of calling Validation Service when
+ * {@code app.validation.mode=local}; with {@code remote} the Feign client is used. Rules come
+ * from {@code app.validation.rules-file} (hot-reloaded) when set, else the bundled defaults.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.validation.mode", havingValue = "local")
+public class LocalValidationServiceClient implements ValidationServiceClient {
+
+    private final ValidationRules rules;
+
+    public LocalValidationServiceClient(
+            @Value("${app.validation.rules-file:}") String rulesFile,
+            @Value("${app.validation.rules-reload-interval:5s}") Duration reloadInterval) {
+        this.rules = ValidationRules.load(rulesFile, reloadInterval);
+    }
+
+    @Override
+    public ValidationResult validateCertification(CertificationValidationRequest request) {
+        List<String> errors = rules.validateCertification(request.traineeId(), request.courseId(),
+                request.assessmentPassed(), request.passingScore(), request.traineeScore());
+        return new ValidationResult(errors.isEmpty(), errors);
+    }
+
+    @Override
+    public List<ValidationResult> validateCertificationBatch(List<CertificationValidationRequest> requests) {
+        return requests.stream().map(this::validateCertification).toList();
+    }
+
+    @PreDestroy
+    void close() {
+        rules.close();
+    }
+}
@@ -1,5 +1,6 @@
 package com.skilldev.course.controller;
 
+import com.skilldev.course.dto.CourseReference;
 import com.skilldev.course.entity.Course;
 import com.skilldev.course.service.CourseService;
 import org.springframework.http.HttpStatus;
@@ -28,6 +29,12 @@ public class CourseController {
         return courseService.findActive();
     }
 
+    /** Eligibility fields of every course; used by Validation Service to refresh its enrollment snapshot. */
+    @GetMapping("/reference")
+    public List<CourseReference> reference() {
+        return courseService.referenceData();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Course> getById(@PathVariable Long id) {
         return courseService.findById(id)
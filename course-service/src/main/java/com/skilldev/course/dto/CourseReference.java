@@ -0,0 +1,6 @@
+package com.skilldev.course.dto;
+
+import java.time.LocalDate;
+
+/** The fields of a course that decide enrollment eligibility; {@code capacity} null = unlimited. */
+public record CourseReference(Long id, Boolean active, LocalDate endDate, Integer capacity) {}
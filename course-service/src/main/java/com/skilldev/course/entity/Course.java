@@ -22,6 +22,8 @@ public class Course {
     private LocalDate endDate;
     private Long trainerId;
     private Boolean active = true;
+    /** Maximum active enrollments; null means unlimited. */
+    private Integer capacity;
 
     @Column(updatable = false)
     private LocalDateTime createdAt;
@@ -56,6 +58,8 @@ public class Course {
     public void setTrainerId(Long trainerId) { this.trainerId = trainerId; }
     public Boolean getActive() { return active; }
     public void setActive(Boolean active) { this.active = active; }
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
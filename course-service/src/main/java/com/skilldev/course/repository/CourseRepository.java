@@ -2,6 +2,7 @@ package com.skilldev.course.repository;
 
 import com.skilldev.course.entity.Course;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +11,8 @@ import java.util.List;
 public interface CourseRepository extends JpaRepository<Course, Long> {
     List<Course> findByActiveTrue();
     List<Course> findByTrainerId(Long trainerId);
+
+    /** (id, active, endDate, capacity) for every course. */
+    @Query("select c.id, c.active, c.endDate, c.capacity from Course c")
+    List<Object[]> findReferenceRows();
 }
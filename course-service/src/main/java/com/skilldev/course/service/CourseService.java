@@ -4,11 +4,13 @@ import com.skilldev.course.client.ValidationServiceClient;
 import com.skilldev.course.client.TrainerServiceClient;
 import com.skilldev.course.client.dto.CourseValidationRequest;
 import com.skilldev.course.client.dto.ValidationResult;
+import com.skilldev.course.dto.CourseReference;
 import com.skilldev.course.entity.Course;
 import com.skilldev.course.repository.CourseRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +49,13 @@ public class CourseService {
         return courseRepository.findByTrainerId(trainerId);
     }
 
+    @Transactional(readOnly = true)
+    public List<CourseReference> referenceData() {
+        return courseRepository.findReferenceRows().stream()
+                .map(row -> new CourseReference((Long) row[0], (Boolean) row[1], (LocalDate) row[2], (Integer) row[3]))
+                .toList();
+    }
+
     /** Validates course data via Validation Service, then saves. */
     @Transactional
     public Course create(Course course) {
@@ -75,6 +84,7 @@ public class CourseService {
                     if (updates.getEndDate() != null) existing.setEndDate(updates.getEndDate());
                     if (updates.getTrainerId() != null) existing.setTrainerId(updates.getTrainerId());
                     if (updates.getActive() != null) existing.setActive(updates.getActive());
+                    if (updates.getCapacity() != null) existing.setCapacity(updates.getCapacity());
                     return courseRepository.save(existing);
                 });
     }
@@ -105,6 +105,16 @@ public class GatewayApiService {
 
     public record LoginResponse(String token, String username, String role) {}
 
+    /** Response from GET /dashboard/*: sections that missed the Gateway's budget are named in errors. */
+    public record DashboardResponse(Map<String, List<Map<String, Object>>> sections,
+                                    Map<String, String> errors, boolean partial) {
+
+        public List<Map<String, Object>> section(String name) {
+            List<Map<String, Object>> list = sections != null ? sections.get(name) : null;
+            return list != null ? list : List.of();
+        }
+    }
+
     /** Phase 2: response from GET /auth/me */
     public record MeResponse(String username, String role, Long entityId, String displayName, String email) {}
 }
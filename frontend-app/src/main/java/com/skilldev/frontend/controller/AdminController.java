@@ -1,6 +1,7 @@
 package com.skilldev.frontend.controller;
 
 import com.skilldev.frontend.client.GatewayApiService;
+import com.skilldev.frontend.client.GatewayApiService.DashboardResponse;
 import com.skilldev.frontend.web.AuthInterceptor;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.core.ParameterizedTypeReference;
@@ -26,12 +27,13 @@ public class AdminController {
     public String dashboard(HttpSession session, Model model) {
         model.addAttribute("username", session.getAttribute(AuthInterceptor.SESSION_USERNAME));
         try {
-            List<?> courses = api.getList(session, "/courses", new ParameterizedTypeReference<List<Map<String, Object>>>() {});
-            List<?> trainees = api.getList(session, "/trainees", new ParameterizedTypeReference<List<Map<String, Object>>>() {});
-            List<?> trainers = api.getList(session, "/trainers", new ParameterizedTypeReference<List<Map<String, Object>>>() {});
-            model.addAttribute("courseCount", courses != null ? courses.size() : 0);
-            model.addAttribute("traineeCount", trainees != null ? trainees.size() : 0);
-            model.addAttribute("trainerCount", trainers != null ? trainers.size() : 0);
+            DashboardResponse dashboard = api.get(session, "/dashboard/admin", DashboardResponse.class);
+            model.addAttribute("courseCount", dashboard.section("courses").size());
+            model.addAttribute("traineeCount", dashboard.section("trainees").size());
+            model.addAttribute("trainerCount", dashboard.section("trainers").size());
+            if (dashboard.partial()) {
+                model.addAttribute("error", "Some figures could not be loaded in time: " + String.join(", ", dashboard.errors().keySet()));
+            }
         } catch (Exception e) {
             model.addAttribute("courseCount", 0);
             model.addAttribute("traineeCount", 0);
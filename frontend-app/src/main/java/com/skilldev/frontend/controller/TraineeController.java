@@ -1,6 +1,7 @@
 package com.skilldev.frontend.controller;
 
 import com.skilldev.frontend.client.GatewayApiService;
+import com.skilldev.frontend.client.GatewayApiService.DashboardResponse;
 import com.skilldev.frontend.web.AuthInterceptor;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.core.ParameterizedTypeReference;
@@ -34,8 +35,12 @@ public class TraineeController {
         }
         model.addAttribute("username", session.getAttribute(AuthInterceptor.SESSION_USERNAME));
         try {
-            model.addAttribute("courses", api.getList(session, "/courses/active", new ParameterizedTypeReference<>() {}));
-            model.addAttribute("certificates", api.getList(session, "/certificates/trainee/" + traineeId, new ParameterizedTypeReference<>() {}));
+            DashboardResponse dashboard = api.get(session, "/dashboard/trainee/" + traineeId, DashboardResponse.class);
+            model.addAttribute("courses", dashboard.section("courses"));
+            model.addAttribute("certificates", dashboard.section("certificates"));
+            if (dashboard.partial()) {
+                model.addAttribute("error", "Some sections could not be loaded in time: " + String.join(", ", dashboard.errors().keySet()));
+            }
         } catch (Exception e) {
             model.addAttribute("courses", List.of());
             model.addAttribute("certificates", List.of());
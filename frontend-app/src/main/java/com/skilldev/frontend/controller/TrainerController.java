@@ -1,6 +1,7 @@
 package com.skilldev.frontend.controller;
 
 import com.skilldev.frontend.client.GatewayApiService;
+import com.skilldev.frontend.client.GatewayApiService.DashboardResponse;
 import com.skilldev.frontend.web.AuthInterceptor;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.core.ParameterizedTypeReference;
@@ -24,15 +25,21 @@ public class TrainerController {
 
     @GetMapping("/dashboard")
     public String dashboard(HttpSession session, Model model) {
-        if (session.getAttribute(AuthInterceptor.SESSION_TRAINER_ID) == null) {
+        Long trainerId = (Long) session.getAttribute(AuthInterceptor.SESSION_TRAINER_ID);
+        if (trainerId == null) {
             return "redirect:/login?redirect=/trainer/dashboard";
         }
         model.addAttribute("username", session.getAttribute(AuthInterceptor.SESSION_USERNAME));
         try {
-            List<Map<String, Object>> assessments = api.getList(session, "/assessments", new ParameterizedTypeReference<>() {});
-            model.addAttribute("assessments", assessments != null ? assessments : List.of());
+            DashboardResponse dashboard = api.get(session, "/dashboard/trainer/" + trainerId, DashboardResponse.class);
+            model.addAttribute("assessments", dashboard.section("assessments"));
+            model.addAttribute("courses", dashboard.section("courses"));
+            if (dashboard.partial()) {
+                model.addAttribute("error", "Some sections could not be loaded in time: " + String.join(", ", dashboard.errors().keySet()));
+            }
         } catch (Exception e) {
             model.addAttribute("assessments", List.of());
+            model.addAttribute("courses", List.of());
         }
         return "trainer/dashboard";
     }
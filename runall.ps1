@@ -2,6 +2,9 @@ $BASE="C:\Users\shank\Downloads\SkillDevelopment"
 
 Write-Host "Starting Skill Development Microservices..." -ForegroundColor Cyan
 
+# 0. Shared validation rules (installed into the local Maven repository for the services below)
+Start-Process powershell "-Command cd '$BASE\validation-rules'; mvn install -DskipTests" -Wait
+
 # 1. Eureka Server (must start first)
 Start-Process powershell "-NoExit -Command cd '$BASE\eureka-server'; mvn spring-boot:run"
 Start-Sleep -Seconds 12
@@ -0,0 +1,18 @@
+package com.skilldev.security.client;
+
+import com.skilldev.security.client.dto.EntityRef;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Map;
+
+@FeignClient(name = "trainee-service")
+public interface TraineeServiceClient {
+
+    @GetMapping("/trainees/by-email")
+    EntityRef findByEmail(@RequestParam("email") String email);
+
+    @GetMapping("/trainees/email-index")
+    Map<String, Long> emailIndex();
+}
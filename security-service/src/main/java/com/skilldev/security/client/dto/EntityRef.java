@@ -0,0 +1,3 @@
+package com.skilldev.security.client.dto;
+
+public record EntityRef(Long id, String email) {}
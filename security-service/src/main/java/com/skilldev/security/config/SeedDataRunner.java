@@ -0,0 +1,44 @@
+package com.skilldev.security.config;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the default admin, trainer and trainee logins when they do not exist yet.
+ * Passwords changed later are kept across restarts.
+ */
+@Component
+@Order(1)
+public class SeedDataRunner implements ApplicationRunner {
+
+    private final UserDetailsManager userDetailsManager;
+    private final PasswordEncoder passwordEncoder;
+
+    public SeedDataRunner(UserDetailsManager userDetailsManager, PasswordEncoder passwordEncoder) {
+        this.userDetailsManager = userDetailsManager;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        seed("admin", "admin123", "ADMIN");
+        seed("trainer", "trainer123", "TRAINER");
+        seed("trainee", "trainee123", "TRAINEE");
+    }
+
+    private void seed(String username, String password, String role) {
+        if (userDetailsManager.userExists(username)) {
+            return;
+        }
+        userDetailsManager.createUser(User.builder()
+                .username(username)
+                .password(passwordEncoder.encode(password))
+                .roles(role)
+                .build());
+    }
+}
@@ -1,26 +1,230 @@
 package com.skilldev.security.config;
 
+import com.skilldev.security.client.TraineeServiceClient;
+import com.skilldev.security.client.TrainerServiceClient;
+import com.skilldev.security.client.dto.EntityRef;
+import feign.FeignException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Resolves a username to its trainee or trainer id by email (the username itself, or
+ * {@code username@email-domain}). Both services' email indexes are preloaded at startup and
+ * reloaded every {@code preload-interval-ms}; an entry older than {@code refresh-after-ms} is
+ * still returned while a background lookup refreshes it, so warm logins never wait on a
+ * remote call.
+ * <p>
+ * A username missing from the cache is looked up on the {@code lookup-threads} pool, never on
+ * the caller's thread, and the answer is given up after {@code lookup-timeout-ms}. A failed or
+ * timed-out lookup is cached for {@code failure-refresh-after-ms}, so a slow or unreachable
+ * service costs one wait per user, not one per login. Without an answer, only the configured
+ * ids of the demo users apply; everyone else gets no id (and a token without {@code eid}),
+ * never a made-up one.
+ */
 @Component
 public class UserEntityMapping {
 
+    private static final Logger log = LoggerFactory.getLogger(UserEntityMapping.class);
+
     private final Map<String, Long> usernameToEntityId = new HashMap<>();
+    private final Map<String, CachedId> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<CachedId>> inFlight = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService lookups;
+    private final TraineeServiceClient traineeServiceClient;
+    private final TrainerServiceClient trainerServiceClient;
+    private final String emailDomain;
+    private final long refreshAfterMs;
+    private final long negativeRefreshAfterMs;
+    private final long failureRefreshAfterMs;
+    private final long lookupTimeoutMs;
 
     public UserEntityMapping(
+            TraineeServiceClient traineeServiceClient,
+            TrainerServiceClient trainerServiceClient,
             @Value("${app.user-entities.trainee:1}") long traineeEntityId,
             @Value("${app.user-entities.trainer:1}") long trainerEntityId,
-            @Value("${app.user-entities.admin:0}") long adminEntityId) {
+            @Value("${app.user-entities.admin:0}") long adminEntityId,
+            @Value("${app.user-entities.email-domain:skilldev.com}") String emailDomain,
+            @Value("${app.user-entities.refresh-after-ms:300000}") long refreshAfterMs,
+            @Value("${app.user-entities.negative-refresh-after-ms:30000}") long negativeRefreshAfterMs,
+            @Value("${app.user-entities.failure-refresh-after-ms:10000}") long failureRefreshAfterMs,
+            @Value("${app.user-entities.lookup-timeout-ms:1500}") long lookupTimeoutMs,
+            @Value("${app.user-entities.lookup-threads:4}") int lookupThreads) {
+        this.traineeServiceClient = traineeServiceClient;
+        this.trainerServiceClient = trainerServiceClient;
+        this.emailDomain = emailDomain;
+        this.refreshAfterMs = refreshAfterMs;
+        this.negativeRefreshAfterMs = negativeRefreshAfterMs;
+        this.failureRefreshAfterMs = failureRefreshAfterMs;
+        this.lookupTimeoutMs = lookupTimeoutMs;
+        this.lookups = Executors.newFixedThreadPool(Math.max(1, lookupThreads), runnable -> {
+            Thread thread = new Thread(runnable, "user-entity-lookup");
+            thread.setDaemon(true);
+            return thread;
+        });
         usernameToEntityId.put("trainee", traineeEntityId);
         usernameToEntityId.put("trainer", trainerEntityId);
         usernameToEntityId.put("admin", adminEntityId);
     }
 
-    public Long getEntityId(String username) {
-        return usernameToEntityId.getOrDefault(username != null ? username.toLowerCase() : "", 0L);
+    /**
+     * The user's entity id, or {@code null} when it is unknown. Completes at once on a cache hit;
+     * a miss completes from the lookup pool within {@code lookup-timeout-ms}.
+     */
+    public CompletableFuture<Long> entityId(String username, String role) {
+        String name = username != null ? username.toLowerCase() : "";
+        Long configured = usernameToEntityId.get(name);
+        Kind kind = Kind.of(role);
+        if (kind == null) {
+            return CompletableFuture.completedFuture(configured);
+        }
+        String email = email(name);
+        String key = kind.key(email);
+        CachedId cached = cache.get(key);
+        if (cached == null) {
+            return coldLookup(kind, key, email)
+                    .thenApply(found -> found != null && found.id() != null ? found.id() : configured);
+        }
+        if (isStale(cached) && refreshing.add(key)) {
+            try {
+                lookups.execute(() -> {
+                    try {
+                        cache.put(key, lookupOrFailure(kind, email));
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(key);
+            }
+        }
+        return CompletableFuture.completedFuture(cached.id() != null ? cached.id() : configured);
+    }
+
+    /** One lookup per key at a time; concurrent logins of the same user share it. */
+    private CompletableFuture<CachedId> coldLookup(Kind kind, String key, String email) {
+        CompletableFuture<CachedId> started = new CompletableFuture<>();
+        CompletableFuture<CachedId> existing = inFlight.putIfAbsent(key, started);
+        if (existing != null) {
+            return existing;
+        }
+        try {
+            lookups.execute(() -> {
+                CachedId found = lookupOrFailure(kind, email);
+                // Also kept when the caller already gave up waiting
+                cache.put(key, found);
+                started.complete(found);
+            });
+        } catch (RejectedExecutionException e) {
+            started.complete(null);
+        }
+        started.completeOnTimeout(null, lookupTimeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((found, error) -> {
+                    inFlight.remove(key, started);
+                    if (found == null) {
+                        cache.putIfAbsent(key, CachedId.failure());
+                    }
+                });
+        return started;
+    }
+
+    /** Bulk load of both email indexes; the first run happens right after startup. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.user-entities.preload-interval-ms:600000}")
+    public void preload() {
+        preload(Kind.TRAINEE, traineeServiceClient::emailIndex);
+        preload(Kind.TRAINER, trainerServiceClient::emailIndex);
+    }
+
+    private void preload(Kind kind, Supplier<Map<String, Long>> fetch) {
+        try {
+            Map<String, Long> index = fetch.get();
+            long now = System.currentTimeMillis();
+            index.forEach((email, id) -> cache.put(kind.key(email.toLowerCase()), new CachedId(id, now, false)));
+            // Entries of this kind the index no longer contains become "not found"
+            cache.replaceAll((key, value) -> key.startsWith(kind.prefix) && (value.id() != null || value.failed())
+                    && !index.containsKey(key.substring(kind.prefix.length())) ? new CachedId(null, now, false) : value);
+            log.debug("Preloaded {} {} email mappings", index.size(), kind);
+        } catch (RuntimeException e) {
+            log.warn("Could not preload {} email mappings: {}", kind, e.getMessage());
+        }
+    }
+
+    /** A failure marker when the service could not be reached. */
+    private CachedId lookupOrFailure(Kind kind, String email) {
+        try {
+            EntityRef ref = kind == Kind.TRAINEE
+                    ? traineeServiceClient.findByEmail(email)
+                    : trainerServiceClient.findByEmail(email);
+            return new CachedId(ref != null ? ref.id() : null, System.currentTimeMillis(), false);
+        } catch (FeignException.NotFound e) {
+            return new CachedId(null, System.currentTimeMillis(), false);
+        } catch (RuntimeException e) {
+            log.debug("{} lookup for {} failed: {}", kind, email, e.getMessage());
+            return CachedId.failure();
+        }
+    }
+
+    private boolean isStale(CachedId cached) {
+        long age = System.currentTimeMillis() - cached.loadedAt();
+        long maxAge = cached.failed() ? failureRefreshAfterMs
+                : cached.id() != null ? refreshAfterMs : negativeRefreshAfterMs;
+        return age > maxAge;
+    }
+
+    private String email(String username) {
+        return username.contains("@") ? username : username + "@" + emailDomain;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lookups.shutdownNow();
+    }
+
+    private enum Kind {
+        TRAINEE("trainee:"), TRAINER("trainer:");
+
+        final String prefix;
+
+        Kind(String prefix) {
+            this.prefix = prefix;
+        }
+
+        String key(String email) {
+            return prefix + email;
+        }
+
+        static Kind of(String role) {
+            if ("TRAINEE".equalsIgnoreCase(role)) {
+                return TRAINEE;
+            }
+            if ("TRAINER".equalsIgnoreCase(role)) {
+                return TRAINER;
+            }
+            return null;
+        }
+    }
+
+    /** {@code id} null = no such user, or, if {@code failed}, no answer from the service. */
+    private record CachedId(Long id, long loadedAt, boolean failed) {
+
+        static CachedId failure() {
+            return new CachedId(null, System.currentTimeMillis(), true);
+        }
     }
 }
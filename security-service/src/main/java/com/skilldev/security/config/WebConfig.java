@@ -0,0 +1,23 @@
+package com.skilldev.security.config;
+
+import com.skilldev.security.web.RequestIdentityResolver;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RequestIdentityResolver requestIdentityResolver;
+
+    public WebConfig(RequestIdentityResolver requestIdentityResolver) {
+        this.requestIdentityResolver = requestIdentityResolver;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(requestIdentityResolver);
+    }
+}
@@ -2,13 +2,21 @@ package com.skilldev.security.controller;
 
 import com.skilldev.security.config.UserEntityMapping;
 import com.skilldev.security.dto.*;
+import com.skilldev.security.service.LoginThrottle;
+import com.skilldev.security.service.PasswordHashingExecutor;
 import com.skilldev.security.service.ProfileStore;
+import com.skilldev.security.util.JwtKeyRing;
 import com.skilldev.security.util.JwtUtil;
+import com.skilldev.security.web.RequestIdentity;
+import com.skilldev.security.web.TokenClaimsContext;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +24,11 @@ import org.springframework.security.provisioning.UserDetailsManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @RestController
@@ -28,31 +41,58 @@ public class AuthController {
     private final UserDetailsManager userDetailsManager;
     private final PasswordEncoder passwordEncoder;
     private final ProfileStore profileStore;
+    private final JwtKeyRing jwtKeyRing;
+    private final TokenClaimsContext tokenClaimsContext;
+    private final int maxValidationBatch;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
 
     public AuthController(AuthenticationManager authenticationManager, JwtUtil jwtUtil,
                          UserEntityMapping userEntityMapping, UserDetailsManager userDetailsManager,
-                         PasswordEncoder passwordEncoder, ProfileStore profileStore) {
+                         PasswordEncoder passwordEncoder, ProfileStore profileStore, JwtKeyRing jwtKeyRing,
+                         TokenClaimsContext tokenClaimsContext, PasswordHashingExecutor passwordHashingExecutor,
+                         LoginThrottle loginThrottle,
+                         @Value("${app.auth.max-validation-batch:1000}") int maxValidationBatch) {
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
         this.userEntityMapping = userEntityMapping;
         this.userDetailsManager = userDetailsManager;
         this.passwordEncoder = passwordEncoder;
         this.profileStore = profileStore;
+        this.jwtKeyRing = jwtKeyRing;
+        this.tokenClaimsContext = tokenClaimsContext;
+        this.maxValidationBatch = maxValidationBatch;
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.loginThrottle = loginThrottle;
     }
 
+    /**
+     * BCrypt matching runs on the hashing pool, not on the request thread. Throttled
+     * usernames are turned away before any hashing.
+     */
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.username(), request.password()));
-        String username = authentication.getName();
-        String role = authentication.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .filter(a -> a.startsWith("ROLE_"))
-                .map(a -> a.substring(5))
-                .findFirst()
-                .orElse("TRAINEE");
-        String token = jwtUtil.generateToken(username, role);
-        return ResponseEntity.ok(new LoginResponse(token, username, role));
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@RequestBody LoginRequest request) {
+        loginThrottle.checkAllowed(request.username());
+        return passwordHashingExecutor.submit(() -> authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.username(), request.password())))
+                .whenComplete((authentication, error) -> {
+                    if (error != null && (error instanceof AuthenticationException
+                            || error.getCause() instanceof AuthenticationException)) {
+                        loginThrottle.recordFailure(request.username());
+                    }
+                })
+                .thenCompose(authentication -> {
+                    String username = authentication.getName();
+                    String role = authentication.getAuthorities().stream()
+                            .map(GrantedAuthority::getAuthority)
+                            .filter(a -> a.startsWith("ROLE_"))
+                            .map(a -> a.substring(5))
+                            .findFirst()
+                            .orElse("TRAINEE");
+                    // A cold entity lookup runs on its own pool, so the hashing thread is released here
+                    return userEntityMapping.entityId(username, role).thenApply(entityId -> ResponseEntity.ok(
+                            new LoginResponse(jwtUtil.generateToken(username, role, entityId), username, role)));
+                });
     }
 
     @PostMapping("/validate")
@@ -60,77 +100,106 @@ public class AuthController {
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             return ResponseEntity.ok(false);
         }
-        String token = authHeader.substring(7);
-        return ResponseEntity.ok(jwtUtil.validateToken(token));
+        return ResponseEntity.ok(tokenClaimsContext.claims(authHeader.substring(7)) != null);
+    }
+
+    /**
+     * Validates many tokens in one call; results are in the same order as the request.
+     * Used by the Gateway to collapse bursts of concurrent validations into one round trip.
+     */
+    @PostMapping("/validate/batch")
+    public ResponseEntity<List<TokenValidationResult>> validateBatch(@RequestBody TokenBatchRequest request) {
+        List<String> tokens = request != null && request.tokens() != null ? request.tokens() : List.of();
+        if (tokens.size() > maxValidationBatch) {
+            throw new IllegalArgumentException("At most " + maxValidationBatch + " tokens per batch");
+        }
+        List<TokenValidationResult> results = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            results.add(validateOne(token));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /** Public verification keys so the Gateway can check JWT signatures without calling /validate. */
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+                .body(jwtKeyRing.jwks());
     }
 
     @GetMapping("/me")
-    public ResponseEntity<MeResponse> me(@RequestHeader(value = "Authorization", required = false) String authHeader) {
-        String username = usernameFromToken(authHeader);
-        if (username == null) {
+    public ResponseEntity<MeResponse> me(RequestIdentity identity) {
+        if (identity == null) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
-        String role = jwtUtil.getRoleFromToken(authHeader.substring(7));
-        Long entityId = userEntityMapping.getEntityId(username);
-        ProfileRequest profile = profileStore.get(username);
-        String displayName = profile != null ? profile.displayName() : null;
-        String email = profile != null ? profile.email() : null;
-        return ResponseEntity.ok(MeResponse.of(username, role, entityId, displayName, email));
+        return ResponseEntity.ok(meResponse(identity));
     }
 
     @PutMapping("/password")
-    public ResponseEntity<Void> changePassword(@RequestHeader(value = "Authorization", required = false) String authHeader,
-                                                @RequestBody PasswordRequest request) {
-        String username = usernameFromToken(authHeader);
-        if (username == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+    public CompletableFuture<ResponseEntity<Void>> changePassword(RequestIdentity identity,
+                                                                  @RequestBody PasswordRequest request) {
+        if (identity == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
         }
         if (request.currentPassword() == null || request.newPassword() == null || request.newPassword().isBlank()) {
-            return ResponseEntity.badRequest().build();
-        }
-        UserDetails current = userDetailsManager.loadUserByUsername(username);
-        if (!passwordEncoder.matches(request.currentPassword(), current.getPassword())) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build());
         }
-        String[] roles = current.getAuthorities().stream()
-                .map(GrantedAuthority::getAuthority)
-                .map(a -> a.startsWith("ROLE_") ? a.substring(5) : a)
-                .toArray(String[]::new);
-        UserDetails updated = User.builder()
-                .username(username)
-                .password(passwordEncoder.encode(request.newPassword()))
-                .roles(roles)
-                .build();
-        userDetailsManager.updateUser(updated);
-        return ResponseEntity.noContent().build();
+        String username = identity.username();
+        return passwordHashingExecutor.submit(() -> {
+            UserDetails current = userDetailsManager.loadUserByUsername(username);
+            if (!passwordEncoder.matches(request.currentPassword(), current.getPassword())) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).<Void>build();
+            }
+            String[] roles = current.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .map(a -> a.startsWith("ROLE_") ? a.substring(5) : a)
+                    .toArray(String[]::new);
+            UserDetails updated = User.builder()
+                    .username(username)
+                    .password(passwordEncoder.encode(request.newPassword()))
+                    .roles(roles)
+                    .build();
+            userDetailsManager.updateUser(updated);
+            return ResponseEntity.noContent().<Void>build();
+        });
     }
 
     @PutMapping("/profile")
-    public ResponseEntity<MeResponse> updateProfile(@RequestHeader(value = "Authorization", required = false) String authHeader,
-                                                    @RequestBody ProfileRequest request) {
-        String username = usernameFromToken(authHeader);
-        if (username == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        }
-        if (request != null) {
-            profileStore.put(username, request);
+    public CompletableFuture<ResponseEntity<MeResponse>> updateProfile(RequestIdentity identity,
+                                                                       @RequestBody ProfileRequest request) {
+        if (identity == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
         }
-        String role = jwtUtil.getRoleFromToken(authHeader.substring(7));
-        Long entityId = userEntityMapping.getEntityId(username);
-        ProfileRequest profile = profileStore.get(username);
-        String displayName = profile != null ? profile.displayName() : null;
-        String email = profile != null ? profile.email() : null;
-        return ResponseEntity.ok(MeResponse.of(username, role, entityId, displayName, email));
+        CompletableFuture<Void> stored = profileStore.put(identity.username(), request);
+        MeResponse body = meResponse(identity);
+        return stored.thenApply(v -> ResponseEntity.ok(body));
     }
 
-    private String usernameFromToken(String authHeader) {
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            return null;
+    private TokenValidationResult validateOne(String token) {
+        if (token == null || token.isBlank()) {
+            return TokenValidationResult.invalid();
         }
-        String token = authHeader.substring(7);
-        if (!jwtUtil.validateToken(token)) {
-            return null;
+        String raw = token.startsWith("Bearer ") ? token.substring(7) : token;
+        try {
+            Claims claims = jwtUtil.parseToken(raw);
+            Object eid = claims.get("eid");
+            return new TokenValidationResult(true, claims.getSubject(), claims.get("role", String.class),
+                    eid instanceof Number n ? n.longValue() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() / 1000 : null);
+        } catch (Exception e) {
+            return TokenValidationResult.invalid();
         }
-        return jwtUtil.getUsernameFromToken(token);
+    }
+
+    private MeResponse meResponse(RequestIdentity identity) {
+        String username = identity.username();
+        Long entityId = identity.entityId() != null
+                ? identity.entityId()
+                : userEntityMapping.entityId(username, identity.role()).join();
+        ProfileRequest profile = profileStore.get(username);
+        String displayName = profile != null ? profile.displayName() : null;
+        String email = profile != null ? profile.email() : null;
+        return MeResponse.of(username, identity.role(), entityId, displayName, email);
     }
 }
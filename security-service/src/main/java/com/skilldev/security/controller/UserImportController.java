@@ -0,0 +1,49 @@
+package com.skilldev.security.controller;
+
+import com.skilldev.security.dto.UserImportRequest;
+import com.skilldev.security.dto.UserImportResponse;
+import com.skilldev.security.service.UserImportService;
+import com.skilldev.security.web.TokenClaimsContext;
+import io.jsonwebtoken.Claims;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/auth/users")
+public class UserImportController {
+
+    private final UserImportService userImportService;
+    private final TokenClaimsContext tokenClaimsContext;
+
+    public UserImportController(UserImportService userImportService, TokenClaimsContext tokenClaimsContext) {
+        this.userImportService = userImportService;
+        this.tokenClaimsContext = tokenClaimsContext;
+    }
+
+    /**
+     * Admin only, checked against the bearer token itself rather than forwarded identity
+     * headers. Existing usernames are skipped, not overwritten.
+     */
+    @PostMapping("/import")
+    public ResponseEntity<UserImportResponse> importUsers(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody List<UserImportRequest> users) {
+        Claims claims = authHeader != null && authHeader.startsWith("Bearer ")
+                ? tokenClaimsContext.claims(authHeader.substring(7))
+                : null;
+        if (claims == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!"ADMIN".equalsIgnoreCase(claims.get("role", String.class))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(userImportService.importUsers(users));
+    }
+}
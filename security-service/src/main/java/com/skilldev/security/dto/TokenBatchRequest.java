@@ -0,0 +1,5 @@
+package com.skilldev.security.dto;
+
+import java.util.List;
+
+public record TokenBatchRequest(List<String> tokens) {}
@@ -0,0 +1,8 @@
+package com.skilldev.security.dto;
+
+public record TokenValidationResult(boolean valid, String username, String role, Long entityId, Long expiresAt) {
+
+    public static TokenValidationResult invalid() {
+        return new TokenValidationResult(false, null, null, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.skilldev.security.dto;
+
+import java.util.List;
+
+/**
+ * One account to import. Supply either {@code password} (hashed on import) or an existing
+ * BCrypt {@code passwordHash}; the latter avoids paying the hashing cost for every row.
+ */
+public record UserImportRequest(String username, String password, String passwordHash, List<String> roles) {}
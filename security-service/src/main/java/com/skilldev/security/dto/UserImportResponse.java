@@ -0,0 +1,5 @@
+package com.skilldev.security.dto;
+
+import java.util.List;
+
+public record UserImportResponse(int requested, int imported, int skipped, List<String> rejected) {}
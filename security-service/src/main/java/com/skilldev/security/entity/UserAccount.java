@@ -0,0 +1,70 @@
+package com.skilldev.security.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Login account. Keyed by username, so {@link Persistable#isNew()} is tracked explicitly:
+ * a freshly constructed account is inserted directly instead of being looked up first,
+ * which keeps bulk imports to one batched INSERT per row.
+ */
+@Entity
+@Table(name = "user_accounts")
+public class UserAccount implements Persistable<String> {
+
+    @Id
+    @Column(length = 100)
+    private String username;
+
+    @Column(nullable = false)
+    private String password;
+
+    /** Comma-separated role names without the ROLE_ prefix, e.g. "TRAINER". */
+    @Column(nullable = false)
+    private String roles;
+
+    private Boolean enabled = true;
+
+    @Column(updatable = false)
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    @PrePersist
+    void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+
+    @Override
+    public String getId() { return username; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public String getUsername() { return username; }
+    public void setUsername(String username) { this.username = username; }
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+    public String getRoles() { return roles; }
+    public void setRoles(String roles) { this.roles = roles; }
+    public Boolean getEnabled() { return enabled; }
+    public void setEnabled(Boolean enabled) { this.enabled = enabled; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,16 @@
+package com.skilldev.security.exception;
+
+/** Thrown when login attempts are throttled; mapped to 429 with Retry-After. */
+public class TooManyAttemptsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyAttemptsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
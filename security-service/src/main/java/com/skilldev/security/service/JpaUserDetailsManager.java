@@ -0,0 +1,195 @@
+package com.skilldev.security.service;
+
+import com.skilldev.security.entity.UserAccount;
+import com.skilldev.security.repository.UserAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.provisioning.UserDetailsManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Accounts stored in the {@code user_accounts} table, with a read-through cache in front of
+ * {@link #loadUserByUsername}. Every write through this manager invalidates the entry, once
+ * right away and again after its transaction completes; the TTL bounds how long another
+ * instance's change can go unseen.
+ * <p>
+ * Each invalidation bumps a generation (striped by username). A load only installs its entry
+ * if the generation it started from is still current, so a read that raced a write cannot put
+ * the old password back after the write invalidated it.
+ * <p>
+ * The cache holds plain values rather than {@link UserDetails}, because authentication erases
+ * the password on the instance it is handed.
+ */
+@Service
+public class JpaUserDetailsManager implements UserDetailsManager, UserDetailsPasswordService {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final UserAccountRepository userAccountRepository;
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Map<String, CachedUser> cache = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public JpaUserDetailsManager(UserAccountRepository userAccountRepository,
+                                 @Value("${app.security.user-cache.ttl-ms:60000}") long ttlMs,
+                                 @Value("${app.security.user-cache.max-entries:10000}") int maxEntries) {
+        this.userAccountRepository = userAccountRepository;
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        long now = System.currentTimeMillis();
+        CachedUser cached = cache.get(username);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.toUserDetails();
+        }
+        int stripe = stripe(username);
+        long generation = generations.get(stripe);
+        UserAccount account = userAccountRepository.findById(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        CachedUser loaded = new CachedUser(account.getUsername(), account.getPassword(), roles(account),
+                !Boolean.FALSE.equals(account.getEnabled()), now + ttlMs);
+        if (cache.size() >= maxEntries) {
+            makeRoom(now);
+        }
+        // Dropped if a write invalidated this user after the read started
+        cache.compute(username, (key, existing) -> generations.get(stripe) == generation ? loaded : existing);
+        return loaded.toUserDetails();
+    }
+
+    @Override
+    @Transactional
+    public void createUser(UserDetails user) {
+        if (userAccountRepository.existsById(user.getUsername())) {
+            throw new IllegalArgumentException("User already exists: " + user.getUsername());
+        }
+        UserAccount account = new UserAccount();
+        account.setUsername(user.getUsername());
+        apply(account, user);
+        userAccountRepository.save(account);
+        invalidate(user.getUsername());
+    }
+
+    @Override
+    @Transactional
+    public void updateUser(UserDetails user) {
+        UserAccount account = userAccountRepository.findById(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + user.getUsername()));
+        apply(account, user);
+        userAccountRepository.save(account);
+        invalidate(user.getUsername());
+    }
+
+    @Override
+    @Transactional
+    public void deleteUser(String username) {
+        userAccountRepository.deleteById(username);
+        invalidate(username);
+    }
+
+    /** Sets the current user's password; {@code newPassword} must already be encoded. */
+    @Override
+    @Transactional
+    public void changePassword(String oldPassword, String newPassword) {
+        Authentication current = SecurityContextHolder.getContext().getAuthentication();
+        if (current == null) {
+            throw new AccessDeniedException("No authenticated user to change the password for");
+        }
+        userAccountRepository.updatePassword(current.getName(), newPassword);
+        invalidate(current.getName());
+    }
+
+    @Override
+    public boolean userExists(String username) {
+        return cache.containsKey(username) || userAccountRepository.existsById(username);
+    }
+
+    /** Called after a successful login when the stored hash needs re-encoding. */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userAccountRepository.updatePassword(user.getUsername(), newPassword);
+        invalidate(user.getUsername());
+        return User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /** Now, and again once the transaction completes, for loads that read the old row meanwhile. */
+    private void invalidate(String username) {
+        evict(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(username);
+                }
+            });
+        }
+    }
+
+    private void evict(String username) {
+        generations.incrementAndGet(stripe(username));
+        cache.remove(username);
+    }
+
+    private static int stripe(String username) {
+        return (username.hashCode() & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private static void apply(UserAccount account, UserDetails user) {
+        account.setPassword(user.getPassword());
+        account.setRoles(user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(a -> a.startsWith("ROLE_") ? a.substring(5) : a)
+                .collect(Collectors.joining(",")));
+        account.setEnabled(user.isEnabled());
+    }
+
+    private static String[] roles(UserAccount account) {
+        return Arrays.stream(account.getRoles().split(","))
+                .map(String::trim)
+                .filter(r -> !r.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /** Drops expired entries first, then arbitrary ones until there is space. */
+    private void makeRoom(long now) {
+        cache.values().removeIf(c -> c.expiresAt() <= now);
+        Iterator<String> keys = cache.keySet().iterator();
+        while (cache.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record CachedUser(String username, String password, String[] roles, boolean enabled, long expiresAt) {
+
+        UserDetails toUserDetails() {
+            return User.builder()
+                    .username(username)
+                    .password(password)
+                    .roles(roles)
+                    .disabled(!enabled)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.skilldev.security.service;
+
+import com.skilldev.security.exception.TooManyAttemptsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts failed logins per username and in total over a sliding window and rejects further
+ * attempts before any password hashing.
+ * <p>
+ * Per username it backs off rather than locks: once {@code backoff-after} failures are in the
+ * window, the next attempt must come at least {@code base-backoff-ms} after the last failure,
+ * doubling with every further failure up to {@code max-backoff-ms}. Online guessing against one
+ * account slows to a crawl, while its owner is never locked out for long. The global count
+ * catches guessing spread across many accounts: while it is above {@code max-failures-global},
+ * backoff starts at the first failure instead of the {@code backoff-after}th. It never rejects
+ * a username without failures of its own, so users who type their password right still get in
+ * during an attack. Client addresses are deliberately not a dimension:
+ * all UI logins reach this service from the frontend through the Gateway, so they would share
+ * one address, and direct callers can forge X-Forwarded-For.
+ * <p>
+ * Counters are fixed {@link AtomicLongArray}s: a username hashes to one of {@code slots}
+ * stripes, and each stripe holds {@code buckets} cells covering the window. A cell packs the
+ * bucket's epoch (high bits) and its count (low 24 bits) and is updated with CAS, so memory
+ * is constant whatever the number of keys and there is no shared lock. Each username counts in
+ * two stripes picked by independent hashes and is judged by the smaller count (a count-min
+ * sketch), so failures of other usernames only slow it down if they collide with it in both.
+ */
+@Service
+public class LoginThrottle {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final boolean enabled;
+    private final int buckets;
+    private final long bucketMs;
+    private final int slotMask;
+    private final int backoffAfter;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final int maxGlobal;
+    /** Random per instance, so colliding usernames cannot be precomputed. */
+    private final int firstSeed = ThreadLocalRandom.current().nextInt();
+    private final int secondSeed = ThreadLocalRandom.current().nextInt();
+    private final AtomicLongArray usernameCells;
+    /** Time of the latest failure per username stripe. */
+    private final AtomicLongArray lastFailureAt;
+    private final AtomicLongArray globalCells;
+    private final Counter usernameRejections;
+    private final Counter globalRejections;
+    private final Counter failures;
+
+    public LoginThrottle(@Value("${app.security.login-throttle.enabled:true}") boolean enabled,
+                         @Value("${app.security.login-throttle.window-ms:300000}") long windowMs,
+                         @Value("${app.security.login-throttle.buckets:10}") int buckets,
+                         @Value("${app.security.login-throttle.slots:16384}") int slots,
+                         @Value("${app.security.login-throttle.backoff-after:5}") int backoffAfter,
+                         @Value("${app.security.login-throttle.base-backoff-ms:1000}") long baseBackoffMs,
+                         @Value("${app.security.login-throttle.max-backoff-ms:60000}") long maxBackoffMs,
+                         @Value("${app.security.login-throttle.max-failures-global:10000}") int maxGlobal,
+                         MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.buckets = buckets;
+        this.bucketMs = Math.max(1000, windowMs / buckets);
+        int stripes = Integer.highestOneBit(Math.max(1, slots - 1)) << 1;
+        this.slotMask = stripes - 1;
+        this.backoffAfter = backoffAfter;
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxGlobal = maxGlobal;
+        this.usernameCells = new AtomicLongArray(stripes * buckets);
+        this.lastFailureAt = new AtomicLongArray(stripes);
+        this.globalCells = new AtomicLongArray(buckets);
+        this.usernameRejections = Counter.builder("security.login.throttled")
+                .tag("dimension", "username").register(meterRegistry);
+        this.globalRejections = Counter.builder("security.login.throttled")
+                .tag("dimension", "global").register(meterRegistry);
+        this.failures = Counter.builder("security.login.failures").register(meterRegistry);
+    }
+
+    /** Throws {@link TooManyAttemptsException} while the username is backing off. */
+    public void checkAllowed(String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long epoch = now / bucketMs;
+        if (username == null) {
+            return;
+        }
+        String key = username.toLowerCase();
+        int first = stripe(key, firstSeed);
+        int second = stripe(key, secondSeed);
+        long failureCount = Math.min(count(usernameCells, first, epoch), count(usernameCells, second, epoch));
+        long sinceLastFailure = now - Math.min(lastFailureAt.get(first), lastFailureAt.get(second));
+        long wait = backoffMs(failureCount, backoffAfter) - sinceLastFailure;
+        if (wait > 0) {
+            usernameRejections.increment();
+            throw new TooManyAttemptsException("Too many failed logins for this account; try again later",
+                    Math.max(1, (wait + 999) / 1000));
+        }
+        if (count(globalCells, 0, epoch) >= maxGlobal) {
+            wait = backoffMs(failureCount, 1) - sinceLastFailure;
+            if (wait > 0) {
+                globalRejections.increment();
+                throw new TooManyAttemptsException("Too many failed logins; try again later",
+                        Math.max(1, (wait + 999) / 1000));
+            }
+        }
+    }
+
+    public void recordFailure(String username) {
+        failures.increment();
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long epoch = now / bucketMs;
+        if (username != null) {
+            String key = username.toLowerCase();
+            for (int stripe : new int[] {stripe(key, firstSeed), stripe(key, secondSeed)}) {
+                increment(usernameCells, stripe, epoch);
+                lastFailureAt.accumulateAndGet(stripe, now, Math::max);
+            }
+        }
+        increment(globalCells, 0, epoch);
+    }
+
+    /** Required gap after the last failure, given the failures in the window. */
+    private long backoffMs(long failureCount, int after) {
+        if (failureCount < after) {
+            return 0;
+        }
+        long doublings = failureCount - after;
+        if (doublings >= Long.numberOfLeadingZeros(Math.max(1, baseBackoffMs)) - 1) {
+            return maxBackoffMs;
+        }
+        return Math.min(maxBackoffMs, baseBackoffMs << doublings);
+    }
+
+    private long count(AtomicLongArray cells, int stripe, long epoch) {
+        long total = 0;
+        int base = stripe * buckets;
+        for (int i = 0; i < buckets; i++) {
+            long cell = cells.get(base + i);
+            if (epoch - (cell >>> COUNT_BITS) < buckets) {
+                total += cell & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    private void increment(AtomicLongArray cells, int stripe, long epoch) {
+        int index = stripe * buckets + (int) (epoch % buckets);
+        long cell;
+        long next;
+        do {
+            cell = cells.get(index);
+            long count = (cell >>> COUNT_BITS) == epoch ? cell & COUNT_MASK : 0;
+            next = (epoch << COUNT_BITS) | Math.min(count + 1, COUNT_MASK);
+        } while (!cells.compareAndSet(index, cell, next));
+    }
+
+    /** Seeded FNV-1a over the characters; {@link String#hashCode()} collisions are trivial to build. */
+    private int stripe(String key, int seed) {
+        int h = seed;
+        for (int i = 0; i < key.length(); i++) {
+            h = (h ^ key.charAt(i)) * 0x01000193;
+        }
+        h ^= (h >>> 16);
+        h *= 0x45d9f3b;
+        h ^= (h >>> 16);
+        return h & slotMask;
+    }
+}
@@ -1,23 +1,436 @@
 package com.skilldev.security.service;
 
 import com.skilldev.security.dto.ProfileRequest;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
 
+/**
+ * Profiles kept in memory for reads and persisted in {@code app.profile-store.dir}.
+ * <p>
+ * A write is appended to a memory-mapped log ({@code log-N.dat}) as a length + CRC32C framed
+ * record, applied to the map, and acknowledged once the flusher has forced the log to disk;
+ * the flusher runs every {@code fsync-window-ms}, so one fsync covers every write in the
+ * window. Compaction switches writes to a new log, writes the map as {@code snapshot-N.dat}
+ * (temp file + atomic rename) and deletes the logs the snapshot covers. Startup loads the
+ * newest snapshot and replays the logs after it, stopping at a torn tail record.
+ * <p>
+ * Files are local to the instance; several instances need a shared database, not a shared
+ * directory.
+ */
 @Service
 public class ProfileStore {
 
+    private static final Logger log = LoggerFactory.getLogger(ProfileStore.class);
+
+    private static final String LOG_PREFIX = "log-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+    private static final int SNAPSHOT_MAGIC = 0x50524f46;
+    /** Record header: payload length, then CRC32C of the payload. */
+    private static final int HEADER_BYTES = 8;
+
     private final Map<String, ProfileRequest> byUsername = new ConcurrentHashMap<>();
+    private final Path dir;
+    private final int segmentBytes;
+    private final long compactAfterBytes;
+    private final ScheduledExecutorService flusher;
+    private final ScheduledExecutorService compactor;
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final long replayMs;
+
+    /** Guards the log position, the current segment and the pending acknowledgements. */
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private long generation;
+    private MappedByteBuffer segment;
+    private List<CompletableFuture<Void>> unsynced = new ArrayList<>();
+    private volatile long bytesSinceSnapshot;
+
+    public ProfileStore(@Value("${app.profile-store.dir:./data/profiles}") String dir,
+                        @Value("${app.profile-store.log-segment-bytes:67108864}") int segmentBytes,
+                        @Value("${app.profile-store.fsync-window-ms:5}") long fsyncWindowMs,
+                        @Value("${app.profile-store.compact-after-bytes:33554432}") long compactAfterBytes,
+                        @Value("${app.profile-store.snapshot-interval-ms:600000}") long snapshotIntervalMs,
+                        MeterRegistry meterRegistry) throws IOException {
+        this.dir = Path.of(dir);
+        this.segmentBytes = segmentBytes;
+        this.compactAfterBytes = compactAfterBytes;
+        Files.createDirectories(this.dir);
+
+        long start = System.nanoTime();
+        boolean replayedLogs = replay();
+        this.replayMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        log.info("Profile store loaded {} profiles from {} in {} ms", byUsername.size(), this.dir, replayMs);
+        openSegment(generation + 1);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(daemon("profile-store-flusher"));
+        this.compactor = Executors.newSingleThreadScheduledExecutor(daemon("profile-store-compactor"));
+        flusher.scheduleWithFixedDelay(this::sync, fsyncWindowMs, fsyncWindowMs, TimeUnit.MILLISECONDS);
+        compactor.scheduleWithFixedDelay(() -> {
+            if (bytesSinceSnapshot > 0) {
+                requestCompaction();
+            }
+        }, snapshotIntervalMs, snapshotIntervalMs, TimeUnit.MILLISECONDS);
+        if (replayedLogs) {
+            requestCompaction();
+        }
+
+        Gauge.builder("security.profile.store.size", byUsername, Map::size).register(meterRegistry);
+        TimeGauge.builder("security.profile.store.replay", this, TimeUnit.MILLISECONDS, s -> s.replayMs)
+                .description("Time taken to load the snapshot and replay the log at startup")
+                .register(meterRegistry);
+    }
 
     public ProfileRequest get(String username) {
         return byUsername.get(username);
     }
 
-    public void put(String username, ProfileRequest profile) {
-        if (profile != null) {
+    /**
+     * Visible to {@link #get} immediately; the returned future completes once the write is
+     * on disk.
+     */
+    public CompletableFuture<Void> put(String username, ProfileRequest profile) {
+        if (profile == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        byte[] payload = encode(username, profile);
+        CompletableFuture<Void> ack = new CompletableFuture<>();
+        boolean compact;
+        writeLock.lock();
+        try {
+            append(payload);
             byUsername.put(username, profile);
+            unsynced.add(ack);
+            compact = bytesSinceSnapshot >= compactAfterBytes;
+        } finally {
+            writeLock.unlock();
+        }
+        if (compact) {
+            requestCompaction();
+        }
+        return ack;
+    }
+
+    /** Lets a running compaction finish (bounded) so it does not leave a half-written snapshot. */
+    @PreDestroy
+    void close() {
+        flusher.shutdown();
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sync();
+    }
+
+
+    private void append(byte[] payload) {
+        int size = HEADER_BYTES + payload.length;
+        if (size > segmentBytes) {
+            throw new IllegalArgumentException("Profile too large to store");
+        }
+        if (segment.remaining() < size) {
+            roll();
+        }
+        segment.putInt(payload.length);
+        segment.putInt(crc(payload));
+        segment.put(payload);
+        bytesSinceSnapshot += size;
+    }
+
+    /** Forces the current segment and starts the next log generation. Caller holds the lock. */
+    private void roll() {
+        segment.force();
+        try {
+            openSegment(generation + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open profile log", e);
+        }
+    }
+
+    private void openSegment(long gen) throws IOException {
+        try (FileChannel channel = FileChannel.open(file(LOG_PREFIX, gen),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        generation = gen;
+    }
+
+    private void sync() {
+        List<CompletableFuture<Void>> acks;
+        MappedByteBuffer current;
+        writeLock.lock();
+        try {
+            if (unsynced.isEmpty()) {
+                return;
+            }
+            acks = unsynced;
+            unsynced = new ArrayList<>();
+            current = segment;
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            current.force();
+            acks.forEach(ack -> ack.complete(null));
+        } catch (RuntimeException e) {
+            log.error("Profile log fsync failed", e);
+            acks.forEach(ack -> ack.completeExceptionally(e));
+        }
+    }
+
+
+    private void requestCompaction() {
+        if (compacting.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compact();
+                } catch (Exception e) {
+                    log.error("Profile store compaction failed", e);
+                } finally {
+                    compacting.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Only the log roll happens under {@link #writeLock}; the map is then streamed into the
+     * snapshot while writes continue. An entry seen during that walk may already come from
+     * generation N or later, which is harmless: those logs are replayed after the snapshot and
+     * every record replaces the whole profile, so the last write still wins.
+     */
+    private void compact() throws IOException {
+        long snapshotGeneration;
+        writeLock.lock();
+        try {
+            roll();
+            snapshotGeneration = generation;
+            bytesSinceSnapshot = 0;
+        } finally {
+            writeLock.unlock();
+        }
+        writeSnapshot(snapshotGeneration, byUsername);
+        deleteBefore(snapshotGeneration);
+    }
+
+    /**
+     * Snapshot N holds everything written to logs before generation N. {@code profiles} may be
+     * changing, so the record count is written after the records.
+     */
+    private void writeSnapshot(long gen, Map<String, ProfileRequest> profiles) throws IOException {
+        Path target = file(SNAPSHOT_PREFIX, gen);
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream stream = Channels.newOutputStream(channel);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16));
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeLong(0);
+            long count = 0;
+            for (Map.Entry<String, ProfileRequest> e : profiles.entrySet()) {
+                byte[] payload = encode(e.getKey(), e.getValue());
+                out.writeInt(payload.length);
+                out.writeInt(crc(payload));
+                out.write(payload);
+                count++;
+            }
+            out.flush();
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), Integer.BYTES);
+            channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removes logs and snapshots older than {@code gen}. A file still mapped on Windows cannot
+     * be deleted; it is retried on the next compaction and ignored on replay.
+     */
+    private void deleteBefore(long gen) {
+        for (Map.Entry<Long, Path> e : list(LOG_PREFIX).headMap(gen).entrySet()) {
+            deleteQuietly(e.getValue());
         }
+        for (Map.Entry<Long, Path> e : list(SNAPSHOT_PREFIX).headMap(gen).entrySet()) {
+            deleteQuietly(e.getValue());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("Could not delete {} yet: {}", path, e.getMessage());
+        }
+    }
+
+
+    /** Loads the newest snapshot and the logs after it; returns whether any log had records. */
+    private boolean replay() throws IOException {
+        TreeMap<Long, Path> snapshots = list(SNAPSHOT_PREFIX);
+        TreeMap<Long, Path> logs = list(LOG_PREFIX);
+        long snapshotGeneration = 0;
+        if (!snapshots.isEmpty()) {
+            snapshotGeneration = snapshots.lastKey();
+            readSnapshot(snapshots.lastEntry().getValue());
+        }
+        boolean replayed = false;
+        for (Path logFile : logs.tailMap(snapshotGeneration, true).values()) {
+            replayed |= replayLog(logFile) > 0;
+        }
+        generation = Math.max(snapshotGeneration, logs.isEmpty() ? 0 : logs.lastKey());
+        deleteBefore(snapshotGeneration);
+        return replayed;
+    }
+
+    private void readSnapshot(Path path) throws IOException {
+        ByteBuffer buffer = mapReadOnly(path);
+        if (buffer.remaining() < 12 || buffer.getInt() != SNAPSHOT_MAGIC) {
+            throw new IllegalStateException("Not a profile snapshot: " + path);
+        }
+        long expected = buffer.getLong();
+        long read = readRecords(buffer);
+        if (read != expected) {
+            throw new IllegalStateException("Profile snapshot " + path + " has " + read + " of " + expected + " records");
+        }
+    }
+
+    private long replayLog(Path path) throws IOException {
+        return readRecords(mapReadOnly(path));
+    }
+
+    /** Applies records until the end, a zeroed (never written) header or a torn record. */
+    private long readRecords(ByteBuffer buffer) {
+        long count = 0;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int length = buffer.getInt();
+            int crc = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            if (crc(payload) != crc) {
+                break;
+            }
+            decodeInto(payload);
+            count++;
+        }
+        return count;
+    }
+
+    private static ByteBuffer mapReadOnly(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    private TreeMap<Long, Path> list(String prefix) {
+        TreeMap<Long, Path> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(dir)) {
+            paths.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(prefix) && name.endsWith(SUFFIX)) {
+                    try {
+                        files.put(Long.parseLong(name.substring(prefix.length(), name.length() - SUFFIX.length())), path);
+                    } catch (NumberFormatException ignored) {
+                        // not one of ours
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return files;
+    }
+
+    private Path file(String prefix, long gen) {
+        return dir.resolve(prefix + String.format("%012d", gen) + SUFFIX);
+    }
+
+
+    private static byte[] encode(String username, ProfileRequest profile) {
+        byte[][] fields = {bytes(username), bytes(profile.displayName()), bytes(profile.email())};
+        int size = 0;
+        for (byte[] field : fields) {
+            size += 4 + (field != null ? field.length : 0);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (byte[] field : fields) {
+            if (field == null) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(field.length).put(field);
+            }
+        }
+        return buffer.array();
+    }
+
+    private void decodeInto(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        String username = string(buffer);
+        byUsername.put(username, new ProfileRequest(string(buffer), string(buffer)));
+    }
+
+    private static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
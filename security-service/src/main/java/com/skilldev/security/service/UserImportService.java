@@ -0,0 +1,173 @@
+package com.skilldev.security.service;
+
+import com.skilldev.security.dto.UserImportRequest;
+import com.skilldev.security.dto.UserImportResponse;
+import com.skilldev.security.entity.UserAccount;
+import com.skilldev.security.repository.UserAccountRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk account import. Rows are written in chunks of {@code batch-size}, each chunk in its own
+ * transaction with one existence query and batched INSERTs, so a large import neither holds
+ * one long transaction nor fills the persistence context.
+ * <p>
+ * Plain-text passwords are hashed on {@link PasswordHashingExecutor} before the chunk's
+ * transaction opens, with at most {@code hash-concurrency} hashes in flight so logins keep the
+ * rest of that pool; a request may carry at most {@code max-plain-passwords} of them
+ * (pre-hashed rows are cheap and only limited by {@code max-size}). If the pool is saturated
+ * the import stops with 503; chunks already written stay, and a retry skips them.
+ */
+@Service
+public class UserImportService {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private final UserAccountRepository userAccountRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxSize;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final int maxPlainPasswords;
+    private final int hashConcurrency;
+
+    public UserImportService(UserAccountRepository userAccountRepository, PasswordEncoder passwordEncoder,
+                             PlatformTransactionManager transactionManager,
+                             PasswordHashingExecutor passwordHashingExecutor,
+                             @Value("${app.security.user-import.batch-size:500}") int batchSize,
+                             @Value("${app.security.user-import.max-size:50000}") int maxSize,
+                             @Value("${app.security.user-import.max-plain-passwords:1000}") int maxPlainPasswords,
+                             @Value("${app.security.user-import.hash-concurrency:2}") int hashConcurrency) {
+        this.userAccountRepository = userAccountRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashingExecutor = passwordHashingExecutor;
+        this.batchSize = batchSize;
+        this.maxSize = maxSize;
+        this.maxPlainPasswords = maxPlainPasswords;
+        this.hashConcurrency = Math.max(1, hashConcurrency);
+    }
+
+    public UserImportResponse importUsers(List<UserImportRequest> users) {
+        if (users == null || users.isEmpty()) {
+            throw new IllegalArgumentException("No users to import");
+        }
+        if (users.size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " users per import");
+        }
+        long plainPasswords = users.stream().filter(u -> u != null && u.passwordHash() == null).count();
+        if (plainPasswords > maxPlainPasswords) {
+            throw new IllegalArgumentException("At most " + maxPlainPasswords
+                    + " plain-text passwords per import; send passwordHash (BCrypt) for the rest");
+        }
+        List<String> rejected = new ArrayList<>();
+        Map<String, UserImportRequest> byUsername = new LinkedHashMap<>();
+        for (UserImportRequest user : users) {
+            String problem = problem(user);
+            if (problem != null) {
+                rejected.add((user != null && user.username() != null ? user.username() : "<missing>") + ": " + problem);
+            } else {
+                byUsername.putIfAbsent(user.username().trim(), user);
+            }
+        }
+        List<UserImportRequest> valid = new ArrayList<>(byUsername.values());
+        int imported = 0;
+        for (int from = 0; from < valid.size(); from += batchSize) {
+            List<UserImportRequest> chunk = valid.subList(from, Math.min(from + batchSize, valid.size()));
+            imported += importChunk(chunk);
+        }
+        return new UserImportResponse(users.size(), imported, users.size() - imported - rejected.size(),
+                rejected);
+    }
+
+    private int importChunk(List<UserImportRequest> chunk) {
+        Set<String> existing = new HashSet<>(userAccountRepository.findExistingUsernames(
+                chunk.stream().map(u -> u.username().trim()).toList()));
+        List<UserImportRequest> fresh = chunk.stream()
+                .filter(u -> !existing.contains(u.username().trim()))
+                .toList();
+        List<String> hashes = hashPasswords(fresh);
+        List<UserAccount> accounts = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            accounts.add(toAccount(fresh.get(i), hashes.get(i)));
+        }
+        transactionTemplate.executeWithoutResult(status -> userAccountRepository.saveAll(accounts));
+        return accounts.size();
+    }
+
+    /** Stored hash per user, in order; plain-text ones are encoded with a bounded number in flight. */
+    private List<String> hashPasswords(List<UserImportRequest> users) {
+        List<String> hashes = new ArrayList<>(users.size());
+        Deque<Map.Entry<Integer, CompletableFuture<String>>> inFlight = new ArrayDeque<>();
+        for (int i = 0; i < users.size(); i++) {
+            UserImportRequest user = users.get(i);
+            if (user.passwordHash() != null) {
+                hashes.add(user.passwordHash());
+                continue;
+            }
+            hashes.add(null);
+            if (inFlight.size() >= hashConcurrency) {
+                awaitHash(inFlight.removeFirst(), hashes);
+            }
+            inFlight.addLast(Map.entry(i, passwordHashingExecutor.submit(() -> passwordEncoder.encode(user.password()))));
+        }
+        while (!inFlight.isEmpty()) {
+            awaitHash(inFlight.removeFirst(), hashes);
+        }
+        return hashes;
+    }
+
+    private static void awaitHash(Map.Entry<Integer, CompletableFuture<String>> pending, List<String> hashes) {
+        try {
+            hashes.set(pending.getKey(), pending.getValue().join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static UserAccount toAccount(UserImportRequest user, String passwordHash) {
+        UserAccount account = new UserAccount();
+        account.setUsername(user.username().trim());
+        account.setPassword(passwordHash);
+        account.setRoles(user.roles() == null || user.roles().isEmpty()
+                ? "TRAINEE"
+                : String.join(",", user.roles().stream().map(r -> r.trim().toUpperCase()).toList()));
+        account.setEnabled(true);
+        return account;
+    }
+
+    private static String problem(UserImportRequest user) {
+        if (user == null || user.username() == null || user.username().isBlank()) {
+            return "username is required";
+        }
+        if (user.username().trim().length() > 100) {
+            return "username is longer than 100 characters";
+        }
+        if (user.passwordHash() != null) {
+            return BCRYPT.matcher(user.passwordHash()).matches() ? null : "passwordHash is not a BCrypt hash";
+        }
+        if (user.password() == null || user.password().isBlank()) {
+            return "password or passwordHash is required";
+        }
+        return null;
+    }
+}
@@ -1,46 +1,59 @@
 package com.skilldev.security.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
-
     @Value("${jwt.expiration-ms}")
     private long expirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    private final JwtKeyRing keyRing;
+
+    /**
+     * Built once and thread-safe. The verification key is picked per token by its
+     * {@code kid} header, so key rotation does not require a new parser.
+     */
+    private final JwtParser parser;
+
+    public JwtUtil(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        Locator<Key> keyLocator = new LocatorAdapter<>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                return keyRing.publicKey(header.getKeyId());
+            }
+        };
+        this.parser = Jwts.parser().keyLocator(keyLocator).build();
     }
 
-    public String generateToken(String username, String role) {
+    public String generateToken(String username, String role, Long entityId) {
+        JwtKeyRing.SigningKey signingKey = keyRing.current();
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
         return Jwts.builder()
+                .header().keyId(signingKey.kid()).and()
                 .subject(username)
                 .claim("role", role)
+                .claim("eid", entityId)
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(getSigningKey())
+                .signWith(signingKey.privateKey(), Jwts.SIG.RS256)
                 .compact();
     }
 
     public Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public String getUsernameFromToken(String token) {
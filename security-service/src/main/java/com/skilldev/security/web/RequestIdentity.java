@@ -0,0 +1,7 @@
+package com.skilldev.security.web;
+
+/**
+ * Authenticated caller of the current request. Declare it as a controller method parameter;
+ * it is {@code null} when the request carries no verified identity.
+ */
+public record RequestIdentity(String username, String role, Long entityId) {}
@@ -0,0 +1,126 @@
+package com.skilldev.security.web;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Resolves {@link RequestIdentity} from the {@code X-User}, {@code X-Role} and
+ * {@code X-Entity-Id} headers the Gateway sets after verifying the JWT. They are trusted only
+ * with a valid {@code X-Identity-Signature}: HMAC-SHA256 with {@code app.identity.signing-secret}
+ * (shared with the Gateway) over the three values and a timestamp no older than
+ * {@code app.identity.max-age-seconds}. Anything else (no secret configured, unsigned or forged
+ * headers, direct calls) falls back to parsing the bearer token once.
+ */
+@Component
+public class RequestIdentityResolver implements HandlerMethodArgumentResolver {
+
+    public static final String USER_HEADER = "X-User";
+    public static final String ROLE_HEADER = "X-Role";
+    public static final String ENTITY_ID_HEADER = "X-Entity-Id";
+
+    public static final String SIGNATURE_HEADER = "X-Identity-Signature";
+
+    private final TokenClaimsContext tokenClaimsContext;
+    private final SecretKeySpec signingKey;
+    private final long maxAgeSeconds;
+
+    public RequestIdentityResolver(TokenClaimsContext tokenClaimsContext,
+                                   @Value("${app.identity.signing-secret:}") String signingSecret,
+                                   @Value("${app.identity.max-age-seconds:60}") long maxAgeSeconds) {
+        this.tokenClaimsContext = tokenClaimsContext;
+        this.signingKey = signingSecret.isBlank() ? null
+                : new SecretKeySpec(signingSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.maxAgeSeconds = maxAgeSeconds;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return RequestIdentity.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public RequestIdentity resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                           NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String username = webRequest.getHeader(USER_HEADER);
+        String role = webRequest.getHeader(ROLE_HEADER);
+        String entityId = webRequest.getHeader(ENTITY_ID_HEADER);
+        if (username != null && !username.isBlank()
+                && signedByGateway(username, role, entityId, webRequest.getHeader(SIGNATURE_HEADER))) {
+            return new RequestIdentity(username, role, parseLong(entityId));
+        }
+        String auth = webRequest.getHeader("Authorization");
+        if (auth == null || !auth.startsWith("Bearer ")) {
+            return null;
+        }
+        Claims claims = tokenClaimsContext.claims(auth.substring(7));
+        if (claims == null) {
+            return null;
+        }
+        Object eid = claims.get("eid");
+        return new RequestIdentity(claims.getSubject(), claims.get("role", String.class),
+                eid instanceof Number n ? n.longValue() : null);
+    }
+
+    private boolean signedByGateway(String username, String role, String entityId, String signature) {
+        if (signingKey == null || signature == null) {
+            return false;
+        }
+        int dot = signature.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(signature.substring(0, dot));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() / 1000 - timestamp) > maxAgeSeconds) {
+            return false;
+        }
+        String message = username + "\n" + nullToEmpty(role) + "\n" + nullToEmpty(entityId) + "\n" + timestamp;
+        byte[] expected;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            expected = mac.doFinal(message.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+        byte[] actual;
+        try {
+            actual = Base64.getUrlDecoder().decode(signature.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, actual);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value != null ? value : "";
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.skilldev.security.web;
+
+import com.skilldev.security.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+/**
+ * Holds the parsed claims of the current request's bearer token so the signature is
+ * checked at most once per HTTP request, however many callers ask.
+ */
+@Component
+@RequestScope
+public class TokenClaimsContext {
+
+    private final JwtUtil jwtUtil;
+
+    private String token;
+    private Claims claims;
+
+    public TokenClaimsContext(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+    }
+
+    /** Verified claims for the token, or {@code null} when it is invalid or expired. */
+    public Claims claims(String token) {
+        if (token == null) {
+            return null;
+        }
+        if (!token.equals(this.token)) {
+            this.token = token;
+            try {
+                this.claims = jwtUtil.parseToken(token);
+            } catch (Exception e) {
+                this.claims = null;
+            }
+        }
+        return claims;
+    }
+}
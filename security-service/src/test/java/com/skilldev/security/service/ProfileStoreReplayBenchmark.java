@@ -0,0 +1,113 @@
+package com.skilldev.security.service;
+
+import com.skilldev.security.dto.ProfileRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup time of {@link ProfileStore} with {@code profiles} stored, loaded either from
+ * {@code log} segments only (no compaction yet) or from a {@code snapshot}. Each iteration
+ * opens a fresh copy of the prepared directory, so the compaction a log replay triggers does
+ * not change what the next iteration reads:
+ * <pre>
+ * cd security-service
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="ProfileStoreReplayBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class ProfileStoreReplayBenchmark {
+
+    private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+    private static final long NEVER = Long.MAX_VALUE / 2;
+
+    @Param({"1000000"})
+    public int profiles;
+
+    @Param({"log", "snapshot"})
+    public String source;
+
+    private Path prepared;
+    private Path workDir;
+    private ProfileStore store;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        prepared = Files.createTempDirectory("profile-store-bench");
+        ProfileStore writer = open(prepared);
+        CompletableFuture<Void> last = null;
+        for (int i = 0; i < profiles; i++) {
+            last = writer.put("user" + i, new ProfileRequest("User " + i, "user" + i + "@example.com"));
+        }
+        last.join();
+        writer.close();
+        if ("snapshot".equals(source)) {
+            // Replaying the logs schedules a compaction; close() waits for it
+            open(prepared).close();
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void copy() throws IOException {
+        workDir = Files.createTempDirectory("profile-store-run");
+        try (Stream<Path> files = Files.list(prepared)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, workDir.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    @Benchmark
+    public ProfileStore load() throws IOException {
+        store = open(workDir);
+        return store;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeRun() throws IOException {
+        store.close();
+        delete(workDir);
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        delete(prepared);
+    }
+
+    private static ProfileStore open(Path dir) throws IOException {
+        return new ProfileStore(dir.toString(), SEGMENT_BYTES, 5, NEVER, NEVER, new SimpleMeterRegistry());
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.skilldev.security.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link JwtUtil} signing and verification, next to the per-call parser it replaced
+ * ({@code parseWithNewParser}: {@code Jwts.parser()...build()} on every call, as before the
+ * parser was built once). {@code parseThreeTimes} vs {@code parseOnce} is the cost a request
+ * paid when role, user and entity id were each read by re-parsing the token, which
+ * {@code TokenClaimsContext} now avoids:
+ * <pre>
+ * cd security-service
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="JwtUtilBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private Path keysDir;
+    private JwtKeyRing keyRing;
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() throws IOException {
+        keysDir = Files.createTempDirectory("jwt-bench");
+        keyRing = new JwtKeyRing(keysDir.toString(), true, 0);
+        jwtUtil = new JwtUtil(keyRing);
+        ReflectionTestUtils.setField(jwtUtil, "expirationMs", TimeUnit.HOURS.toMillis(1));
+        token = jwtUtil.generateToken("trainee", "TRAINEE", 1L);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(keysDir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("trainee", "TRAINEE", 1L);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims parseWithNewParser() {
+        return Jwts.parser()
+                .verifyWith(keyRing.current().keyPair().getPublic())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+
+    @Benchmark
+    public Object parseOnce() {
+        Claims claims = jwtUtil.parseToken(token);
+        return claims.getSubject() + claims.get("role") + claims.get("eid");
+    }
+
+    @Benchmark
+    public Object parseThreeTimes() {
+        return jwtUtil.getUsernameFromToken(token) + jwtUtil.getRoleFromToken(token)
+                + jwtUtil.parseToken(token).get("eid");
+    }
+}
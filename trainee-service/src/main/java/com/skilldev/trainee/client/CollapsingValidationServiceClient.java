@@ -0,0 +1,62 @@
+package com.skilldev.trainee.client;
+
+import com.skilldev.trainee.client.dto.EnrollmentValidationRequest;
+import com.skilldev.trainee.client.dto.TraineeValidationRequest;
+import com.skilldev.trainee.client.dto.ValidationResult;
+import com.skilldev.validation.collapse.RequestCollapser;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * In {@code remote} mode, collapses concurrent {@code validateTrainee} calls into
+ * {@code /validate/trainee/batch} requests (see {@link RequestCollapser}). Callers still block
+ * for their own result, and Feign errors are rethrown unchanged. Disable with
+ * {@code app.validation.collapse.enabled=false}.
+ */
+@Component
+@Primary
+@ConditionalOnExpression("'${app.validation.mode:}' == 'remote' and ${app.validation.collapse.enabled:true}")
+public class CollapsingValidationServiceClient implements ValidationServiceClient {
+
+    private final ValidationServiceClient remote;
+    private final RequestCollapser<TraineeValidationRequest, ValidationResult> collapser;
+
+    public CollapsingValidationServiceClient(
+            @Qualifier("remoteValidationServiceClient") ValidationServiceClient remote,
+            @Value("${app.validation.collapse.window:2ms}") Duration window,
+            @Value("${app.validation.collapse.max-batch-size:100}") int maxBatchSize,
+            @Value("${app.validation.collapse.dispatch-threads:4}") int dispatchThreads,
+            MeterRegistry meterRegistry) {
+        this.remote = remote;
+        this.collapser = new RequestCollapser<>("trainee", remote::validateTrainee, remote::validateTraineeBatch,
+                window, maxBatchSize, dispatchThreads, meterRegistry);
+    }
+
+    @Override
+    public ValidationResult validateTrainee(TraineeValidationRequest request) {
+        return collapser.call(request);
+    }
+
+    @Override
+    public List<ValidationResult> validateTraineeBatch(List<TraineeValidationRequest> requests) {
+        return remote.validateTraineeBatch(requests);
+    }
+
+    @Override
+    public ValidationResult validateEnrollment(EnrollmentValidationRequest request) {
+        return remote.validateEnrollment(request);
+    }
+
+    @PreDestroy
+    void close() {
+        collapser.close();
+    }
+}
@@ -0,0 +1,59 @@
+package com.skilldev.trainee.client;
+
+import com.skilldev.trainee.client.dto.EnrollmentValidationRequest;
+import com.skilldev.trainee.client.dto.TraineeValidationRequest;
+import com.skilldev.trainee.client.dto.ValidationResult;
+import com.skilldev.validation.rules.ValidationRules;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the shared validation rules in-process instead of calling Validation Service when
+ * {@code app.validation.mode=local}; with {@code remote} the Feign client is used. Rules come
+ * from {@code app.validation.rules-file} (hot-reloaded) when set, else the bundled defaults.
+ * Enrollment eligibility needs Validation Service's course snapshot, so it always goes remote.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "app.validation.mode", havingValue = "local")
+public class LocalValidationServiceClient implements ValidationServiceClient {
+
+    private final ValidationServiceClient remote;
+    private final ValidationRules rules;
+
+    public LocalValidationServiceClient(
+            @Qualifier("remoteValidationServiceClient") ValidationServiceClient remote,
+            @Value("${app.validation.rules-file:}") String rulesFile,
+            @Value("${app.validation.rules-reload-interval:5s}") Duration reloadInterval) {
+        this.remote = remote;
+        this.rules = ValidationRules.load(rulesFile, reloadInterval);
+    }
+
+    @Override
+    public ValidationResult validateTrainee(TraineeValidationRequest request) {
+        List<String> errors = rules.validateTrainee(request.email(), request.contact());
+        return new ValidationResult(errors.isEmpty(), errors);
+    }
+
+    @Override
+    public List<ValidationResult> validateTraineeBatch(List<TraineeValidationRequest> requests) {
+        return requests.stream().map(this::validateTrainee).toList();
+    }
+
+    @Override
+    public ValidationResult validateEnrollment(EnrollmentValidationRequest request) {
+        return remote.validateEnrollment(request);
+    }
+
+    @PreDestroy
+    void close() {
+        rules.close();
+    }
+}
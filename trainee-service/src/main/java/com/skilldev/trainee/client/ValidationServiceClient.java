@@ -1,14 +1,25 @@
 package com.skilldev.trainee.client;
 
+import com.skilldev.trainee.client.dto.EnrollmentValidationRequest;
 import com.skilldev.trainee.client.dto.TraineeValidationRequest;
 import com.skilldev.trainee.client.dto.ValidationResult;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 
-@FeignClient(name = "validation-service")
+import java.util.List;
+
+@FeignClient(name = "validation-service", qualifiers = "remoteValidationServiceClient", primary = false)
 public interface ValidationServiceClient {
 
     @PostMapping("/validate/trainee")
     ValidationResult validateTrainee(@RequestBody TraineeValidationRequest request);
+
+    /** Validates many requests in one call; result {@code i} belongs to request {@code i}. */
+    @PostMapping("/validate/trainee/batch")
+    List<ValidationResult> validateTraineeBatch(@RequestBody List<TraineeValidationRequest> requests);
+
+    /** Enrollment eligibility; course facts come from Validation Service's course snapshot. */
+    @PostMapping("/validate/enrollment")
+    ValidationResult validateEnrollment(@RequestBody EnrollmentValidationRequest request);
 }
@@ -0,0 +1,4 @@
+package com.skilldev.trainee.client.dto;
+
+/** {@code enrolledCount}: enrollments of the course that are not withdrawn. */
+public record EnrollmentValidationRequest(Long traineeId, Long courseId, Boolean traineeActive, Long enrolledCount) {}
@@ -8,6 +8,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/trainees")
@@ -24,6 +25,19 @@ public class TraineeController {
         return traineeService.findAll();
     }
 
+    @GetMapping("/by-email")
+    public ResponseEntity<Trainee> getByEmail(@RequestParam String email) {
+        return traineeService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** Email to id for all trainees; used by Security Service to preload its user mapping. */
+    @GetMapping("/email-index")
+    public Map<String, Long> emailIndex() {
+        return traineeService.emailIndex();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Trainee> getById(@PathVariable Long id) {
         return traineeService.findById(id)
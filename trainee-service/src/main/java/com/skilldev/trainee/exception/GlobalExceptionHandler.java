@@ -1,10 +1,13 @@
 package com.skilldev.trainee.exception;
 
+import feign.FeignException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.util.Collection;
 import java.util.NoSuchElementException;
 
 @RestControllerAdvice
@@ -24,6 +27,17 @@ public class GlobalExceptionHandler {
                 .body(ApiError.of(404, ex.getMessage() != null ? ex.getMessage() : "Resource not found"));
     }
 
+    /** A downstream 503 (e.g. Validation Service without course data) stays a 503, with its Retry-After. */
+    @ExceptionHandler(FeignException.ServiceUnavailable.class)
+    public ResponseEntity<ApiError> handleUnavailable(FeignException.ServiceUnavailable ex) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE);
+        Collection<String> retryAfter = ex.responseHeaders().get(HttpHeaders.RETRY_AFTER);
+        if (retryAfter != null && !retryAfter.isEmpty()) {
+            response.header(HttpHeaders.RETRY_AFTER, retryAfter.iterator().next());
+        }
+        return response.body(ApiError.of(503, "A required service is temporarily unavailable; retry shortly"));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleInternal(Exception ex) {
         return ResponseEntity
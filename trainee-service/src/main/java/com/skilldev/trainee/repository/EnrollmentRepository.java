@@ -13,4 +13,5 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     List<Enrollment> findByCourseId(Long courseId);
     Optional<Enrollment> findByTraineeIdAndCourseId(Long traineeId, Long courseId);
     boolean existsByTraineeIdAndCourseId(Long traineeId, Long courseId);
+    long countByCourseIdAndStatusNot(Long courseId, String status);
 }
@@ -2,12 +2,18 @@ package com.skilldev.trainee.repository;
 
 import com.skilldev.trainee.entity.Trainee;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TraineeRepository extends JpaRepository<Trainee, Long> {
-    Optional<Trainee> findByEmail(String email);
-    boolean existsByEmail(String email);
+    Optional<Trainee> findFirstByEmailIgnoreCaseOrderByIdAsc(String email);
+    boolean existsByEmailIgnoreCase(String email);
+
+    /** (email, id) pairs for every trainee with an email, oldest first. */
+    @Query("select t.email, t.id from Trainee t where t.email is not null order by t.id")
+    List<Object[]> findEmailIndex();
 }
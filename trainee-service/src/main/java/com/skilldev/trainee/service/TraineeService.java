@@ -1,6 +1,7 @@
 package com.skilldev.trainee.service;
 
 import com.skilldev.trainee.client.ValidationServiceClient;
+import com.skilldev.trainee.client.dto.EnrollmentValidationRequest;
 import com.skilldev.trainee.client.dto.TraineeValidationRequest;
 import com.skilldev.trainee.client.dto.ValidationResult;
 import com.skilldev.trainee.entity.Enrollment;
@@ -10,7 +11,9 @@ import com.skilldev.trainee.repository.TraineeRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -40,7 +43,17 @@ public class TraineeService {
 
     @Transactional(readOnly = true)
     public Optional<Trainee> findByEmail(String email) {
-        return traineeRepository.findByEmail(email);
+        return traineeRepository.findFirstByEmailIgnoreCaseOrderByIdAsc(email);
+    }
+
+    /** Lower-cased email to trainee id; the oldest trainee wins if an email repeats. */
+    @Transactional(readOnly = true)
+    public Map<String, Long> emailIndex() {
+        Map<String, Long> index = new LinkedHashMap<>();
+        for (Object[] row : traineeRepository.findEmailIndex()) {
+            index.putIfAbsent(((String) row[0]).toLowerCase(), (Long) row[1]);
+        }
+        return index;
     }
 
     @Transactional
@@ -54,7 +67,7 @@ public class TraineeService {
         if (!result.valid()) {
             throw new IllegalArgumentException(String.join("; ", result.errors()));
         }
-        if (trainee.getEmail() != null && traineeRepository.existsByEmail(trainee.getEmail())) {
+        if (trainee.getEmail() != null && traineeRepository.existsByEmailIgnoreCase(trainee.getEmail())) {
             throw new IllegalArgumentException("Email already registered");
         }
         return traineeRepository.save(trainee);
@@ -70,7 +83,7 @@ public class TraineeService {
                     if (updates.getSkillPreferences() != null) existing.setSkillPreferences(updates.getSkillPreferences());
                     if (updates.getActive() != null) existing.setActive(updates.getActive());
                     if (updates.getEmail() != null) {
-                        if (!updates.getEmail().equals(existing.getEmail()) && traineeRepository.existsByEmail(updates.getEmail())) {
+                        if (!updates.getEmail().equalsIgnoreCase(existing.getEmail()) && traineeRepository.existsByEmailIgnoreCase(updates.getEmail())) {
                             throw new IllegalArgumentException("Email already registered");
                         }
                         existing.setEmail(updates.getEmail());
@@ -95,12 +108,17 @@ public class TraineeService {
 
     @Transactional
     public Enrollment enroll(Long traineeId, Long courseId) {
-        if (!traineeRepository.existsById(traineeId)) {
-            throw new IllegalArgumentException("Trainee not found");
-        }
+        Trainee trainee = traineeRepository.findById(traineeId)
+                .orElseThrow(() -> new IllegalArgumentException("Trainee not found"));
         if (enrollmentRepository.existsByTraineeIdAndCourseId(traineeId, courseId)) {
             throw new IllegalArgumentException("Already enrolled in this course");
         }
+        long enrolled = enrollmentRepository.countByCourseIdAndStatusNot(courseId, "WITHDRAWN");
+        ValidationResult result = validationServiceClient.validateEnrollment(
+                new EnrollmentValidationRequest(traineeId, courseId, trainee.getActive(), enrolled));
+        if (!result.valid()) {
+            throw new IllegalArgumentException(String.join("; ", result.errors()));
+        }
         Enrollment e = new Enrollment();
         e.setTraineeId(traineeId);
         e.setCourseId(courseId);
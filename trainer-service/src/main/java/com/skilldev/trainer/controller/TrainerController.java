@@ -7,6 +7,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/trainers")
@@ -28,6 +29,19 @@ public class TrainerController {
         return trainerService.findAvailable();
     }
 
+    @GetMapping("/by-email")
+    public ResponseEntity<Trainer> getByEmail(@RequestParam String email) {
+        return trainerService.findByEmail(email)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /** Email to id for all trainers; used by Security Service to preload its user mapping. */
+    @GetMapping("/email-index")
+    public Map<String, Long> emailIndex() {
+        return trainerService.emailIndex();
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<Trainer> getById(@PathVariable Long id) {
         return trainerService.findById(id)
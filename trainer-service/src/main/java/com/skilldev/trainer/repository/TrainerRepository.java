@@ -2,12 +2,19 @@ package com.skilldev.trainer.repository;
 
 import com.skilldev.trainer.entity.Trainer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
     List<Trainer> findByAvailableTrue();
     List<Trainer> findBySpecializationIgnoreCase(String specialization);
+    Optional<Trainer> findFirstByEmailIgnoreCaseOrderByIdAsc(String email);
+
+    /** (email, id) pairs for every trainer with an email, oldest first. */
+    @Query("select t.email, t.id from Trainer t where t.email is not null order by t.id")
+    List<Object[]> findEmailIndex();
 }
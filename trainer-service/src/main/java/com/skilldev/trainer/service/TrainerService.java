@@ -5,7 +5,9 @@ import com.skilldev.trainer.repository.TrainerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -27,6 +29,21 @@ public class TrainerService {
         return trainerRepository.findById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Optional<Trainer> findByEmail(String email) {
+        return trainerRepository.findFirstByEmailIgnoreCaseOrderByIdAsc(email);
+    }
+
+    /** Lower-cased email to trainer id; the oldest trainer wins if an email repeats. */
+    @Transactional(readOnly = true)
+    public Map<String, Long> emailIndex() {
+        Map<String, Long> index = new LinkedHashMap<>();
+        for (Object[] row : trainerRepository.findEmailIndex()) {
+            index.putIfAbsent(((String) row[0]).toLowerCase(), (Long) row[1]);
+        }
+        return index;
+    }
+
     @Transactional(readOnly = true)
     public List<Trainer> findAvailable() {
         return trainerRepository.findByAvailableTrue();
@@ -0,0 +1,198 @@
+package com.skilldev.validation.collapse;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Gathers single requests that arrive within {@code window} of the first one (or until
+ * {@code maxBatchSize} are queued) and sends them as one batch call. Each caller's future is
+ * completed with the result at its own index; a failed batch fails every future in it.
+ * A lone request goes through {@code singleCall} so it does not pay for the batch endpoint.
+ * After {@link #close()} new requests fail at once; requests already queued are still sent.
+ * <p>
+ * Records {@code validation.collapser.batch.size} and {@code validation.collapser.wait} (time
+ * from submit until a dispatch thread starts sending its batch, i.e. the latency the collapser
+ * adds, including any queueing for a free dispatch thread).
+ */
+public class RequestCollapser<Q, R> implements AutoCloseable {
+
+    private final Function<Q, R> singleCall;
+    private final Function<List<Q>, List<R>> batchCall;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+    private final DistributionSummary batchSizes;
+    private final Timer waitTimer;
+
+    private final Object lock = new Object();
+    private List<Pending<Q, R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    public RequestCollapser(String name, Function<Q, R> singleCall, Function<List<Q>, List<R>> batchCall,
+                            Duration window, int maxBatchSize, int dispatchThreads, MeterRegistry meterRegistry) {
+        this.singleCall = singleCall;
+        this.batchCall = batchCall;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, name + "-collapser-timer"));
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, dispatchThreads),
+                runnable -> daemon(runnable, name + "-collapser-dispatch"));
+        this.batchSizes = DistributionSummary.builder("validation.collapser.batch.size")
+                .description("Requests sent per collapsed batch")
+                .tag("client", name)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("validation.collapser.wait")
+                .description("Time a request waited for its batch to be sent")
+                .tag("client", name)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<R> submit(Q request) {
+        Pending<Q, R> entry = new Pending<>(request, new CompletableFuture<>(), System.nanoTime());
+        List<Pending<Q, R>> full = null;
+        List<Pending<Q, R>> unscheduled = null;
+        RejectedExecutionException rejected = null;
+        synchronized (lock) {
+            if (closed) {
+                entry.future().completeExceptionally(new RejectedExecutionException("Collapser is closed"));
+                return entry.future();
+            }
+            pending.add(entry);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                try {
+                    scheduledFlush = timer.schedule(this::flushDue, windowNanos, TimeUnit.NANOSECONDS);
+                } catch (RejectedExecutionException e) {
+                    // No flush would ever come for this batch
+                    unscheduled = takePending();
+                    rejected = e;
+                }
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        if (unscheduled != null) {
+            fail(unscheduled, rejected);
+        }
+        return entry.future();
+    }
+
+    /**
+     * Submits {@code request} and blocks for its result. Whatever the batch failed with is
+     * rethrown unchanged (e.g. a Feign exception), not wrapped in {@link CompletionException}.
+     */
+    public R call(Q request) {
+        try {
+            return submit(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Pending<Q, R>> queued;
+        synchronized (lock) {
+            closed = true;
+            queued = takePending();
+        }
+        timer.shutdownNow();
+        if (!queued.isEmpty()) {
+            dispatch(queued);
+        }
+        dispatcher.shutdown();
+    }
+
+    private void flushDue() {
+        List<Pending<Q, R>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    /** Caller holds {@link #lock}. */
+    private List<Pending<Q, R>> takePending() {
+        List<Pending<Q, R>> batch = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<Pending<Q, R>> batch) {
+        try {
+            dispatcher.execute(() -> send(batch));
+        } catch (RejectedExecutionException e) {
+            fail(batch, e);
+        }
+    }
+
+    private static <Q, R> void fail(List<Pending<Q, R>> batch, Throwable error) {
+        batch.forEach(entry -> entry.future().completeExceptionally(error));
+    }
+
+    /** Every future in {@code batch} is completed when this returns, whatever the call threw. */
+    private void send(List<Pending<Q, R>> batch) {
+        long now = System.nanoTime();
+        for (Pending<Q, R> entry : batch) {
+            waitTimer.record(now - entry.submittedAt(), TimeUnit.NANOSECONDS);
+        }
+        batchSizes.record(batch.size());
+        try {
+            if (batch.size() == 1) {
+                batch.get(0).future().complete(singleCall.apply(batch.get(0).request()));
+                return;
+            }
+            List<R> results = batchCall.apply(batch.stream().map(Pending::request).toList());
+            if (results == null || results.size() != batch.size()) {
+                throw new IllegalStateException("Batch returned " + (results == null ? 0 : results.size())
+                        + " results for " + batch.size() + " requests");
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future().complete(results.get(i));
+            }
+        } catch (Throwable e) {
+            fail(batch, e);
+        }
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private record Pending<Q, R>(Q request, CompletableFuture<R> future, long submittedAt) {}
+}
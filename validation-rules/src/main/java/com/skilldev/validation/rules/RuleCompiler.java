@@ -0,0 +1,217 @@
+package com.skilldev.validation.rules;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles a JSON rule document ({@code {"ruleSet": [{"check": ..., "field": ..., "message": ...}]}})
+ * into immutable {@link RuleSet}s. Field names are resolved to argument positions and regexes
+ * are compiled here, once, so evaluation does no lookups or parsing. A rule with
+ * {@code "required": true} also fails when its field is null; otherwise null values pass.
+ * <p>
+ * Checks: {@code present} ({@code fields}), {@code notBlank}, {@code positive},
+ * {@code minLength} ({@code value}), {@code pattern} ({@code regex}), {@code notInPast},
+ * {@code isTrue}, {@code after} / {@code atLeast} / {@code lessThan} / {@code containsIgnoreCase}
+ * ({@code other}), {@code between} ({@code min}, {@code maxField}).
+ */
+final class RuleCompiler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private RuleCompiler() {
+    }
+
+    /** Compiles every rule set in {@code schemas}; one missing from {@code json} is taken from {@code fallbacks}. */
+    static Map<String, RuleSet> compile(InputStream json, Map<String, List<String>> schemas,
+                                        Map<String, RuleSet> fallbacks) throws IOException {
+        JsonNode root = MAPPER.readTree(json);
+        if (root == null || !root.isObject()) {
+            throw new IllegalArgumentException("Rule document must be a JSON object of rule sets");
+        }
+        Map<String, RuleSet> ruleSets = new HashMap<>();
+        for (Map.Entry<String, List<String>> schema : schemas.entrySet()) {
+            JsonNode definitions = root.path(schema.getKey());
+            if (definitions.isMissingNode() && fallbacks.containsKey(schema.getKey())) {
+                ruleSets.put(schema.getKey(), fallbacks.get(schema.getKey()));
+                continue;
+            }
+            if (!definitions.isArray()) {
+                throw new IllegalArgumentException("Missing rule set: " + schema.getKey());
+            }
+            List<RuleSet.Rule> rules = new ArrayList<>();
+            for (JsonNode definition : definitions) {
+                rules.add(compileRule(schema.getKey(), schema.getValue(), definition));
+            }
+            ruleSets.put(schema.getKey(), new RuleSet(rules));
+        }
+        for (Iterator<String> names = root.fieldNames(); names.hasNext(); ) {
+            String name = names.next();
+            if (!schemas.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown rule set: " + name);
+            }
+        }
+        return Map.copyOf(ruleSets);
+    }
+
+    private static RuleSet.Rule compileRule(String ruleSet, List<String> fields, JsonNode definition) {
+        String check = text(definition, "check", ruleSet);
+        String message = text(definition, "message", ruleSet);
+        RuleSet.Check compiled = switch (check) {
+            case "present" -> present(indexes(ruleSet, fields, definition.path("fields")));
+            case "notBlank" -> notBlank(index(ruleSet, fields, definition, "field"));
+            case "positive" -> positive(index(ruleSet, fields, definition, "field"));
+            case "minLength" -> minLength(index(ruleSet, fields, definition, "field"), definition.path("value").asInt());
+            case "pattern" -> pattern(index(ruleSet, fields, definition, "field"),
+                    Pattern.compile(text(definition, "regex", ruleSet)));
+            case "notInPast" -> notInPast(index(ruleSet, fields, definition, "field"));
+            case "isTrue" -> isTrue(index(ruleSet, fields, definition, "field"));
+            case "after" -> after(index(ruleSet, fields, definition, "field"), index(ruleSet, fields, definition, "other"));
+            case "atLeast" -> atLeast(index(ruleSet, fields, definition, "field"), index(ruleSet, fields, definition, "other"));
+            case "lessThan" -> lessThan(index(ruleSet, fields, definition, "field"), index(ruleSet, fields, definition, "other"));
+            case "containsIgnoreCase" -> containsIgnoreCase(index(ruleSet, fields, definition, "field"),
+                    index(ruleSet, fields, definition, "other"));
+            case "between" -> between(index(ruleSet, fields, definition, "field"), definition.path("min").asLong(),
+                    index(ruleSet, fields, definition, "maxField"));
+            default -> throw new IllegalArgumentException("Unknown check '" + check + "' in rule set " + ruleSet);
+        };
+        if (definition.path("required").asBoolean(false)) {
+            int field = index(ruleSet, fields, definition, "field");
+            RuleSet.Check optional = compiled;
+            compiled = values -> values[field] != null && optional.passes(values);
+        }
+        return new RuleSet.Rule(compiled, message);
+    }
+
+    private static RuleSet.Check present(int[] fields) {
+        return values -> {
+            for (int field : fields) {
+                if (values[field] == null) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    private static RuleSet.Check notBlank(int field) {
+        return values -> !(values[field] instanceof String s) || !s.isBlank();
+    }
+
+    private static RuleSet.Check positive(int field) {
+        return values -> !(values[field] instanceof Number n) || n.longValue() > 0;
+    }
+
+    private static RuleSet.Check minLength(int field, int length) {
+        return values -> !(values[field] instanceof CharSequence s) || s.length() >= length;
+    }
+
+    /** Blank values pass (a {@code notBlank} rule reports them); matchers are reused per thread. */
+    private static RuleSet.Check pattern(int field, Pattern pattern) {
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return values -> !(values[field] instanceof String s) || s.isBlank() || matchers.get().reset(s).matches();
+    }
+
+    private static RuleSet.Check notInPast(int field) {
+        return values -> !(values[field] instanceof LocalDate date) || !date.isBefore(Today.get());
+    }
+
+    private static RuleSet.Check isTrue(int field) {
+        return values -> !Boolean.FALSE.equals(values[field]);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static RuleSet.Check after(int field, int other) {
+        return values -> !(values[field] instanceof Comparable value) || values[other] == null
+                || value.compareTo(values[other]) > 0;
+    }
+
+    private static RuleSet.Check atLeast(int field, int other) {
+        return values -> !(values[field] instanceof Number value) || !(values[other] instanceof Number minimum)
+                || value.longValue() >= minimum.longValue();
+    }
+
+    private static RuleSet.Check lessThan(int field, int other) {
+        return values -> !(values[field] instanceof Number value) || !(values[other] instanceof Number limit)
+                || value.longValue() < limit.longValue();
+    }
+
+    private static RuleSet.Check containsIgnoreCase(int field, int other) {
+        return values -> !(values[field] instanceof String text) || !(values[other] instanceof String part)
+                || containsIgnoreCase(text, part);
+    }
+
+    private static RuleSet.Check between(int field, long min, int maxField) {
+        return values -> !(values[field] instanceof Number value) || !(values[maxField] instanceof Number max)
+                || (value.longValue() >= min && value.longValue() <= max.longValue());
+    }
+
+    private static boolean containsIgnoreCase(String text, String part) {
+        for (int i = 0; i <= text.length() - part.length(); i++) {
+            if (text.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String text(JsonNode definition, String property, String ruleSet) {
+        JsonNode value = definition.get(property);
+        if (value == null || !value.isTextual()) {
+            throw new IllegalArgumentException("Rule in " + ruleSet + " is missing '" + property + "'");
+        }
+        return value.asText();
+    }
+
+    private static int index(String ruleSet, List<String> fields, JsonNode definition, String property) {
+        return resolve(ruleSet, fields, text(definition, property, ruleSet));
+    }
+
+    private static int[] indexes(String ruleSet, List<String> fields, JsonNode names) {
+        if (!names.isArray() || names.isEmpty()) {
+            throw new IllegalArgumentException("Rule in " + ruleSet + " is missing 'fields'");
+        }
+        int[] indexes = new int[names.size()];
+        for (int i = 0; i < indexes.length; i++) {
+            indexes[i] = resolve(ruleSet, fields, names.get(i).asText());
+        }
+        return indexes;
+    }
+
+    private static int resolve(String ruleSet, List<String> fields, String name) {
+        int index = fields.indexOf(name);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown field '" + name + "' in rule set " + ruleSet);
+        }
+        return index;
+    }
+
+    /** Today's date, recomputed only when the day changes so the hot path does not allocate. */
+    private static final class Today {
+
+        private static volatile LocalDate today;
+        private static volatile long nextMidnightMillis;
+
+        static LocalDate get() {
+            if (System.currentTimeMillis() >= nextMidnightMillis) {
+                ZoneId zone = ZoneId.systemDefault();
+                LocalDate now = LocalDate.now(zone);
+                today = now;
+                nextMidnightMillis = ZonedDateTime.of(now.plusDays(1).atStartOfDay(), zone).toInstant().toEpochMilli();
+            }
+            return today;
+        }
+    }
+}
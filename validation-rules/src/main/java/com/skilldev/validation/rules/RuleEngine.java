@@ -0,0 +1,171 @@
+package com.skilldev.validation.rules;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the current compiled rule plan and evaluates rule sets against it. A file-backed
+ * engine polls the file and, when it changes, compiles the new version off to the side and
+ * swaps it in with one volatile write; callers see either the old plan or the new one, never
+ * a mix. A file that fails to compile is logged and the previous plan stays in force.
+ * <p>
+ * Values are passed through fixed-arity overloads into a per-thread array of that arity, so
+ * an evaluation allocates no argument array; the array is cleared afterwards so it does not
+ * keep the caller's values reachable.
+ */
+final class RuleEngine implements AutoCloseable {
+
+    private static final System.Logger log = System.getLogger(RuleEngine.class.getName());
+    private static final int MAX_ARITY = 6;
+    private static final ThreadLocal<Object[][]> ARGUMENTS = ThreadLocal.withInitial(() -> {
+        Object[][] byArity = new Object[MAX_ARITY + 1][];
+        for (int arity = 0; arity <= MAX_ARITY; arity++) {
+            byArity[arity] = new Object[arity];
+        }
+        return byArity;
+    });
+
+    private final Map<String, List<String>> schemas;
+    private final Map<String, RuleSet> fallbacks;
+    private final Path file;
+    private final ScheduledExecutorService watcher;
+    private volatile Map<String, RuleSet> plan;
+    private FileTime loadedModified;
+    private long loadedSize;
+
+    private RuleEngine(Map<String, List<String>> schemas, Map<String, RuleSet> fallbacks, Map<String, RuleSet> plan,
+                       Path file, Duration pollInterval) {
+        this.schemas = schemas;
+        this.fallbacks = fallbacks;
+        this.plan = plan;
+        this.file = file;
+        if (file == null) {
+            this.watcher = null;
+            return;
+        }
+        this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validation-rules-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = pollInterval.toMillis();
+        watcher.scheduleWithFixedDelay(this::reloadIfChanged, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    static RuleEngine fromClasspath(String resource, Map<String, List<String>> schemas) {
+        return new RuleEngine(schemas, Map.of(), compileResource(resource, schemas), null, null);
+    }
+
+    static Map<String, RuleSet> compileResource(String resource, Map<String, List<String>> schemas) {
+        try (InputStream in = RuleEngine.class.getResourceAsStream(resource)) {
+            Objects.requireNonNull(in, () -> "Rule resource not found: " + resource);
+            return RuleCompiler.compile(in, schemas, Map.of());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read rule resource " + resource, e);
+        }
+    }
+
+    /**
+     * Loads {@code file} (failing fast if it is invalid) and reloads it whenever it changes.
+     * Rule sets the file leaves out are taken from {@code fallbacks}, if present there.
+     */
+    static RuleEngine watching(Path file, Duration pollInterval, Map<String, List<String>> schemas,
+                               Map<String, RuleSet> fallbacks) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            RuleEngine engine = new RuleEngine(schemas, fallbacks, compile(file, schemas, fallbacks), file, pollInterval);
+            engine.loadedModified = modified;
+            engine.loadedSize = size;
+            return engine;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read rule file " + file, e);
+        }
+    }
+
+    List<String> evaluate(String ruleSet, Object v0, Object v1) {
+        Object[] values = ARGUMENTS.get()[2];
+        values[0] = v0;
+        values[1] = v1;
+        return evaluate(ruleSet, values);
+    }
+
+    List<String> evaluate(String ruleSet, Object v0, Object v1, Object v2) {
+        Object[] values = ARGUMENTS.get()[3];
+        values[0] = v0;
+        values[1] = v1;
+        values[2] = v2;
+        return evaluate(ruleSet, values);
+    }
+
+    List<String> evaluate(String ruleSet, Object v0, Object v1, Object v2, Object v3, Object v4) {
+        Object[] values = ARGUMENTS.get()[5];
+        values[0] = v0;
+        values[1] = v1;
+        values[2] = v2;
+        values[3] = v3;
+        values[4] = v4;
+        return evaluate(ruleSet, values);
+    }
+
+    List<String> evaluate(String ruleSet, Object v0, Object v1, Object v2, Object v3, Object v4, Object v5) {
+        Object[] values = ARGUMENTS.get()[6];
+        values[0] = v0;
+        values[1] = v1;
+        values[2] = v2;
+        values[3] = v3;
+        values[4] = v4;
+        values[5] = v5;
+        return evaluate(ruleSet, values);
+    }
+
+    private List<String> evaluate(String ruleSet, Object[] values) {
+        try {
+            return plan.get(ruleSet).evaluate(values);
+        } finally {
+            Arrays.fill(values, null);
+        }
+    }
+
+    private synchronized void reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            long size = Files.size(file);
+            if (modified.equals(loadedModified) && size == loadedSize) {
+                return;
+            }
+            loadedModified = modified;
+            loadedSize = size;
+            plan = compile(file, schemas, fallbacks);
+            log.log(System.Logger.Level.INFO, "Reloaded validation rules from {0}", file);
+        } catch (IOException | RuntimeException e) {
+            log.log(System.Logger.Level.WARNING, "Keeping previous validation rules; " + file + " is invalid: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, RuleSet> compile(Path file, Map<String, List<String>> schemas,
+                                                Map<String, RuleSet> fallbacks) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return RuleCompiler.compile(in, schemas, fallbacks);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.skilldev.validation.rules;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One compiled, immutable rule set. Values are passed positionally in the order of the rule
+ * set's declared fields, in an array {@link RuleEngine} reuses per thread. A passing evaluation
+ * allocates nothing and returns the shared empty list; the error list is only created on the
+ * first failure.
+ */
+final class RuleSet {
+
+    private final Rule[] rules;
+
+    RuleSet(List<Rule> rules) {
+        this.rules = rules.toArray(new Rule[0]);
+    }
+
+    List<String> evaluate(Object[] values) {
+        List<String> errors = null;
+        for (Rule rule : rules) {
+            if (!rule.check().passes(values)) {
+                if (errors == null) {
+                    errors = new ArrayList<>(2);
+                }
+                errors.add(rule.message());
+            }
+        }
+        return errors != null ? errors : List.of();
+    }
+
+    int size() {
+        return rules.length;
+    }
+
+    @FunctionalInterface
+    interface Check {
+        boolean passes(Object[] values);
+    }
+
+    record Rule(Check check, String message) {}
+}
@@ -0,0 +1,97 @@
+package com.skilldev.validation.rules;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Business validation rules, shared by Validation Service and callers running in {@code local}
+ * mode so both evaluate exactly the same checks. The rules themselves are declared in JSON
+ * (bundled {@code default-rules.json}, or a file that is hot-reloaded) and compiled once by
+ * {@link RuleCompiler}; each method returns the failed rules' messages, empty when valid.
+ */
+public final class ValidationRules implements AutoCloseable {
+
+    static final String DEFAULT_RULES = "/com/skilldev/validation/rules/default-rules.json";
+
+    /** Argument order of each rule set, as referenced by field name in the rule file. */
+    static final Map<String, List<String>> SCHEMAS = Map.of(
+            "course", List.of("durationHours", "startDate", "endDate", "trainerId", "category"),
+            "trainee", List.of("email", "contact"),
+            "trainer", List.of("specialization", "courseCategory", "available"),
+            "assessment", List.of("passingScore", "maxScore", "traineeScore"),
+            "certification", List.of("traineeId", "courseId", "assessmentPassed", "passingScore", "traineeScore"),
+            "enrollment", List.of("courseFound", "courseActive", "courseEndDate", "enrolledCount", "capacity",
+                    "traineeActive"));
+
+    /** Rule sets a custom rule file may leave out; the bundled definitions are used instead. */
+    static final Set<String> OPTIONAL_RULE_SETS = Set.of("enrollment");
+
+    private final RuleEngine engine;
+
+    private ValidationRules(RuleEngine engine) {
+        this.engine = engine;
+    }
+
+    /** Rules bundled with this module. */
+    public static ValidationRules bundled() {
+        return new ValidationRules(RuleEngine.fromClasspath(DEFAULT_RULES, SCHEMAS));
+    }
+
+    /**
+     * Rules from {@code rulesFile}, re-read every {@code pollInterval} when it changes. Rule sets
+     * in {@link #OPTIONAL_RULE_SETS} that the file leaves out keep their bundled definitions.
+     */
+    public static ValidationRules watching(Path rulesFile, Duration pollInterval) {
+        Map<String, RuleSet> fallbacks = new HashMap<>(RuleEngine.compileResource(DEFAULT_RULES, SCHEMAS));
+        fallbacks.keySet().retainAll(OPTIONAL_RULE_SETS);
+        return new ValidationRules(RuleEngine.watching(rulesFile, pollInterval, SCHEMAS, fallbacks));
+    }
+
+    /** Bundled rules when {@code rulesFile} is blank, otherwise that file with hot reload. */
+    public static ValidationRules load(String rulesFile, Duration pollInterval) {
+        return rulesFile == null || rulesFile.isBlank() ? bundled() : watching(Path.of(rulesFile), pollInterval);
+    }
+
+    public List<String> validateCourse(Integer durationHours, LocalDate startDate, LocalDate endDate,
+                                       Long trainerId, String category) {
+        return engine.evaluate("course", durationHours, startDate, endDate, trainerId, category);
+    }
+
+    public List<String> validateTrainee(String email, String contact) {
+        return engine.evaluate("trainee", email, contact);
+    }
+
+    public List<String> validateTrainer(String specialization, String courseCategory, boolean available) {
+        return engine.evaluate("trainer", specialization, courseCategory, available);
+    }
+
+    public List<String> validateAssessment(Integer passingScore, Integer maxScore, Integer traineeScore) {
+        return engine.evaluate("assessment", passingScore, maxScore, traineeScore);
+    }
+
+    public List<String> validateCertification(Long traineeId, Long courseId, boolean assessmentPassed,
+                                              Integer passingScore, Integer traineeScore) {
+        return engine.evaluate("certification", traineeId, courseId, assessmentPassed, passingScore, traineeScore);
+    }
+
+    /**
+     * Eligibility of a trainee for a course. {@code courseActive}, {@code courseEndDate},
+     * {@code enrolledCount}, {@code capacity} and {@code traineeActive} are null when unknown or
+     * unlimited.
+     */
+    public List<String> validateEnrollment(boolean courseFound, Boolean courseActive, LocalDate courseEndDate,
+                                           Long enrolledCount, Integer capacity, Boolean traineeActive) {
+        return engine.evaluate("enrollment", courseFound, courseActive, courseEndDate, enrolledCount, capacity,
+                traineeActive);
+    }
+
+    @Override
+    public void close() {
+        engine.close();
+    }
+}
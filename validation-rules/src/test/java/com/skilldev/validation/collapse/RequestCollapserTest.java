@@ -0,0 +1,133 @@
+package com.skilldev.validation.collapse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Batching, failure propagation and the wait metric of {@link RequestCollapser}. */
+class RequestCollapserTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void fullBatchIsSentAsOneCallWithResultsInOrder() {
+        try (RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> "single-" + request,
+                requests -> requests.stream().map(request -> "batch-" + request).toList(),
+                Duration.ofSeconds(10), 3, 1, meterRegistry)) {
+            List<CompletableFuture<String>> futures = IntStream.range(0, 3).mapToObj(collapser::submit).toList();
+
+            assertEquals(List.of("batch-0", "batch-1", "batch-2"), futures.stream().map(CompletableFuture::join).toList());
+            assertEquals(1, meterRegistry.get("validation.collapser.batch.size").summary().count());
+        }
+    }
+
+    @Test
+    void loneRequestUsesSingleCallAfterWindow() {
+        try (RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> "single-" + request, requests -> List.of(),
+                Duration.ofMillis(5), 100, 1, meterRegistry)) {
+            assertEquals("single-7", collapser.call(7));
+        }
+    }
+
+    @Test
+    void errorInCallFailsEveryCallerWithTheSameError() {
+        AssertionError failure = new AssertionError("boom");
+        try (RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> { throw failure; }, requests -> { throw failure; },
+                Duration.ofMillis(5), 2, 1, meterRegistry)) {
+            CompletableFuture<String> first = collapser.submit(1);
+            CompletableFuture<String> second = collapser.submit(2);
+
+            assertSame(failure, assertThrows(AssertionError.class, () -> collapser.call(3)));
+            assertTrue(first.isCompletedExceptionally());
+            assertTrue(second.isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void runtimeExceptionIsRethrownUnwrapped() {
+        IllegalStateException failure = new IllegalStateException("remote down");
+        try (RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> { throw failure; }, requests -> List.of(),
+                Duration.ofMillis(5), 100, 1, meterRegistry)) {
+            assertSame(failure, assertThrows(IllegalStateException.class, () -> collapser.call(1)));
+        }
+    }
+
+    @Test
+    void waitIncludesQueueingForADispatchThread() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        try (RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "single-" + request;
+                },
+                requests -> List.of(), Duration.ofMillis(1), 1, 1, meterRegistry)) {
+            CompletableFuture<String> blocking = collapser.submit(1);
+            CompletableFuture<String> queued = collapser.submit(2);
+            Thread.sleep(100);
+            release.countDown();
+
+            assertEquals("single-1", blocking.join());
+            assertEquals("single-2", queued.join());
+            double maxWaitMs = meterRegistry.get("validation.collapser.wait").timer().max(TimeUnit.MILLISECONDS);
+            assertTrue(maxWaitMs >= 100, "max wait " + maxWaitMs + " ms");
+        }
+    }
+
+    @Test
+    void submitAfterCloseFailsInsteadOfHanging() {
+        RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> "single-" + request, requests -> List.of(),
+                Duration.ofMillis(1), 1, 1, meterRegistry);
+        collapser.close();
+
+        assertTrue(collapser.submit(1).isCompletedExceptionally());
+    }
+
+    @Test
+    void submitAfterCloseFailsWhenBatchingIsEnabled() {
+        RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> "single-" + request, requests -> List.of(),
+                Duration.ofSeconds(10), 3, 1, meterRegistry);
+        collapser.close();
+
+        CompletableFuture<String> first = collapser.submit(1);
+        CompletableFuture<String> second = collapser.submit(2);
+
+        assertTrue(first.isCompletedExceptionally());
+        assertTrue(second.isCompletedExceptionally());
+    }
+
+    @Test
+    void closeSendsRequestsStillWaitingForTheirWindow() {
+        RequestCollapser<Integer, String> collapser = new RequestCollapser<>("test",
+                request -> "single-" + request,
+                requests -> requests.stream().map(request -> "batch-" + request).toList(),
+                Duration.ofSeconds(10), 3, 1, meterRegistry);
+        CompletableFuture<String> first = collapser.submit(1);
+        CompletableFuture<String> second = collapser.submit(2);
+
+        collapser.close();
+
+        assertEquals("batch-1", first.orTimeout(5, TimeUnit.SECONDS).join());
+        assertEquals("batch-2", second.orTimeout(5, TimeUnit.SECONDS).join());
+    }
+}
@@ -0,0 +1,91 @@
+package com.skilldev.validation.rules;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The hand-written if-chains the rule file replaced, kept verbatim as the reference that
+ * {@link RuleEngineEquivalenceTest} holds the bundled rules to.
+ */
+final class LegacyValidationRules {
+
+    private LegacyValidationRules() {
+    }
+
+    static List<String> validateCourse(Integer durationHours, LocalDate startDate, LocalDate endDate,
+                                       Long trainerId, String category) {
+        List<String> errors = new ArrayList<>();
+        if (durationHours == null || durationHours <= 0) {
+            errors.add("Course duration must be positive");
+        }
+        if (startDate != null && endDate != null && !endDate.isAfter(startDate)) {
+            errors.add("End date must be after start date");
+        }
+        if (startDate != null && startDate.isBefore(LocalDate.now())) {
+            errors.add("Start date cannot be in the past");
+        }
+        if (trainerId != null && trainerId <= 0) {
+            errors.add("Invalid trainer assignment");
+        }
+        if (category != null && category.isBlank()) {
+            errors.add("Course category cannot be blank");
+        }
+        return errors;
+    }
+
+    static List<String> validateTrainee(String email, String contact) {
+        List<String> errors = new ArrayList<>();
+        if (email == null || email.isBlank()) {
+            errors.add("Email is required");
+        } else if (!email.matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
+            errors.add("Invalid email format");
+        }
+        if (contact != null && contact.length() < 10) {
+            errors.add("Contact number must be at least 10 digits");
+        }
+        return errors;
+    }
+
+    static List<String> validateTrainer(String specialization, String courseCategory, boolean available) {
+        List<String> errors = new ArrayList<>();
+        if (specialization != null && courseCategory != null
+                && !specialization.equalsIgnoreCase(courseCategory)
+                && !specialization.toLowerCase().contains(courseCategory.toLowerCase())) {
+            errors.add("Trainer specialization does not match course category");
+        }
+        if (!available) {
+            errors.add("Trainer is not available");
+        }
+        return errors;
+    }
+
+    static List<String> validateAssessment(Integer passingScore, Integer maxScore, Integer traineeScore) {
+        List<String> errors = new ArrayList<>();
+        if (passingScore != null && maxScore != null) {
+            if (passingScore < 0 || passingScore > maxScore) {
+                errors.add("Passing score must be between 0 and max score");
+            }
+        }
+        if (traineeScore != null && maxScore != null
+                && (traineeScore < 0 || traineeScore > maxScore)) {
+            errors.add("Trainee score must be between 0 and max score");
+        }
+        return errors;
+    }
+
+    static List<String> validateCertification(Long traineeId, Long courseId, boolean assessmentPassed,
+                                              Integer passingScore, Integer traineeScore) {
+        List<String> errors = new ArrayList<>();
+        if (!assessmentPassed) {
+            errors.add("Assessment must be passed to issue certificate");
+        }
+        if (traineeScore != null && passingScore != null && traineeScore < passingScore) {
+            errors.add("Trainee score below passing score");
+        }
+        if (traineeId == null || courseId == null) {
+            errors.add("Trainee and course are required for certification");
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,81 @@
+package com.skilldev.validation.rules;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Passing evaluations reuse the per-thread argument array; threads never see each other's values. */
+class RuleEngineAllocationTest {
+
+    private static final int CALLS = 20_000;
+
+    private final ValidationRules rules = ValidationRules.bundled();
+    private final LocalDate start = LocalDate.now().plusDays(7);
+    private final LocalDate end = start.plusDays(30);
+
+    @AfterEach
+    void close() {
+        rules.close();
+    }
+
+    @Test
+    void passingEvaluationsDoNotAllocate() {
+        assertNoAllocation(() -> rules.validateCourse(40, start, end, 1L, "Java"));
+        assertNoAllocation(() -> rules.validateAssessment(40, 100, 75));
+        assertNoAllocation(() -> rules.validateTrainer("Java Backend", "java", true));
+        assertNoAllocation(() -> rules.validateEnrollment(true, true, end, 3L, 30, true));
+    }
+
+    @Test
+    void concurrentCallersGetTheirOwnResults() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                boolean valid = t % 2 == 0;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < CALLS; i++) {
+                        List<String> errors = valid
+                                ? rules.validateAssessment(40, 100, 75)
+                                : rules.validateAssessment(40, 100, 101);
+                        if (errors.isEmpty() != valid) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void assertNoAllocation(Supplier<List<String>> evaluation) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals(List.of(), evaluation.get());
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < CALLS; i++) {
+            evaluation.get();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        // A varargs array per call would be at least 16 bytes each
+        assertTrue(allocated < CALLS, "allocated " + allocated + " bytes over " + CALLS + " calls");
+    }
+}
@@ -0,0 +1,111 @@
+package com.skilldev.validation.rules;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The bundled rule file against {@link LegacyValidationRules}: same messages, in the same order,
+ * over the cross product of boundary values for every rule set the if-chains covered.
+ */
+class RuleEngineEquivalenceTest {
+
+    private static final Integer[] INTS = {null, -5, 0, 1, 40, 100, 120};
+    private static final Long[] LONGS = {null, -1L, 0L, 1L};
+    private static final String[] STRINGS = {null, "", " ", "Java", "a@b.co", "not-an-email", "x@y",
+            "9876543210", "123", "Java Backend", "design"};
+    private static final boolean[] BOOLEANS = {true, false};
+
+    private static ValidationRules rules;
+
+    private final List<String> mismatches = new ArrayList<>();
+    private int compared;
+
+    @BeforeAll
+    static void loadRules() {
+        rules = ValidationRules.bundled();
+    }
+
+    @AfterAll
+    static void closeRules() {
+        rules.close();
+    }
+
+    @Test
+    void courseMatchesLegacy() {
+        LocalDate today = LocalDate.now();
+        LocalDate[] dates = {null, today.minusDays(1), today, today.plusDays(3)};
+        for (Integer duration : INTS) {
+            for (LocalDate start : dates) {
+                for (LocalDate end : dates) {
+                    for (Long trainerId : LONGS) {
+                        for (String category : STRINGS) {
+                            compare(LegacyValidationRules.validateCourse(duration, start, end, trainerId, category),
+                                    rules.validateCourse(duration, start, end, trainerId, category),
+                                    "course", duration, start, end, trainerId, category);
+                        }
+                    }
+                }
+            }
+        }
+        assertNoMismatches(4928);
+    }
+
+    @Test
+    void traineeAndTrainerMatchLegacy() {
+        for (String first : STRINGS) {
+            for (String second : STRINGS) {
+                compare(LegacyValidationRules.validateTrainee(first, second),
+                        rules.validateTrainee(first, second), "trainee", first, second);
+                for (boolean available : BOOLEANS) {
+                    compare(LegacyValidationRules.validateTrainer(first, second, available),
+                            rules.validateTrainer(first, second, available), "trainer", first, second, available);
+                }
+            }
+        }
+        assertNoMismatches(363);
+    }
+
+    @Test
+    void assessmentAndCertificationMatchLegacy() {
+        for (Integer first : INTS) {
+            for (Integer second : INTS) {
+                for (Integer third : INTS) {
+                    compare(LegacyValidationRules.validateAssessment(first, second, third),
+                            rules.validateAssessment(first, second, third), "assessment", first, second, third);
+                }
+                for (Long traineeId : LONGS) {
+                    Long courseId = traineeId == null ? 1L : null;
+                    for (boolean passed : BOOLEANS) {
+                        compare(LegacyValidationRules.validateCertification(traineeId, courseId, passed, first, second),
+                                rules.validateCertification(traineeId, courseId, passed, first, second),
+                                "certification", traineeId, courseId, passed, first, second);
+                    }
+                }
+            }
+        }
+        assertNoMismatches(7 * 7 * 7 + 7 * 7 * 4 * 2);
+    }
+
+    private void compare(List<String> expected, List<String> actual, String ruleSet, Object... input) {
+        compared++;
+        if (!expected.equals(actual)) {
+            mismatches.add(ruleSet + " " + Arrays.toString(input)
+                    + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    private void assertNoMismatches(int expectedCases) {
+        assertEquals(expectedCases, compared, "cases compared");
+        assertTrue(mismatches.isEmpty(), () -> mismatches.size() + " mismatches, e.g.\n"
+                + String.join("\n", mismatches.subList(0, Math.min(20, mismatches.size()))));
+    }
+}
@@ -0,0 +1,108 @@
+package com.skilldev.validation.rules;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/** A watched rule file: edits are picked up, and an invalid file never replaces working rules. */
+class RuleEngineReloadTest {
+
+    private static final Duration POLL = Duration.ofMillis(50);
+    private static final long WAIT_MS = 5000;
+    private static final String CONTACT_MESSAGE = "Contact number must be at least 10 digits";
+
+    private Path rulesFile;
+    private ValidationRules rules;
+
+    @BeforeEach
+    void copyBundledRules() throws IOException {
+        rulesFile = Files.createTempFile("validation-rules", ".json");
+        try (InputStream in = RuleEngineReloadTest.class.getResourceAsStream(ValidationRules.DEFAULT_RULES)) {
+            Files.copy(in, rulesFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() throws IOException {
+        if (rules != null) {
+            rules.close();
+        }
+        Files.deleteIfExists(rulesFile);
+    }
+
+    @Test
+    void editedMessageIsPickedUp() throws Exception {
+        rules = ValidationRules.watching(rulesFile, POLL);
+        assertEquals(List.of(CONTACT_MESSAGE), rules.validateTrainee("a@b.co", "12"));
+
+        String edited = CONTACT_MESSAGE + " (digits only)";
+        Files.writeString(rulesFile, Files.readString(rulesFile).replace(CONTACT_MESSAGE, edited));
+
+        assertEquals(List.of(edited), awaitTraineeErrors(List.of(edited)));
+    }
+
+    @Test
+    void invalidEditKeepsPreviousRules() throws Exception {
+        rules = ValidationRules.watching(rulesFile, POLL);
+        Files.writeString(rulesFile, "{bad");
+        Thread.sleep(POLL.toMillis() * 10);
+
+        assertEquals(List.of(CONTACT_MESSAGE), rules.validateTrainee("a@b.co", "12"));
+
+        // Still watching: a valid file after the invalid one is loaded
+        String edited = CONTACT_MESSAGE + " (fixed)";
+        try (InputStream in = RuleEngineReloadTest.class.getResourceAsStream(ValidationRules.DEFAULT_RULES)) {
+            Files.writeString(rulesFile, new String(in.readAllBytes()).replace(CONTACT_MESSAGE, edited));
+        }
+        assertEquals(List.of(edited), awaitTraineeErrors(List.of(edited)));
+    }
+
+    @Test
+    void invalidInitialFileFailsFast() throws IOException {
+        Files.writeString(rulesFile, "{bad");
+
+        assertThrows(RuntimeException.class, () -> ValidationRules.watching(rulesFile, POLL));
+    }
+
+    @Test
+    void missingRuleSetFailsFast() throws IOException {
+        Files.writeString(rulesFile, "{ \"course\": [] }");
+
+        assertThrows(RuntimeException.class, () -> ValidationRules.watching(rulesFile, POLL));
+    }
+
+    @Test
+    void omittedOptionalRuleSetUsesBundledRules() throws IOException {
+        String withoutEnrollment = Files.readString(rulesFile)
+                .replaceAll("(?s),\\s*\"enrollment\"\\s*:\\s*\\[.*?]\\s*(?=}\\s*$)", "\n");
+        assertFalse(withoutEnrollment.contains("\"enrollment\""));
+        Files.writeString(rulesFile, withoutEnrollment);
+
+        rules = ValidationRules.watching(rulesFile, POLL);
+
+        assertEquals(List.of("Course is not active", "Course is full"),
+                rules.validateEnrollment(true, false, null, 10L, 10, true));
+    }
+
+    private List<String> awaitTraineeErrors(List<String> expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MS;
+        List<String> errors = rules.validateTrainee("a@b.co", "12");
+        while (!errors.equals(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL.toMillis());
+            errors = rules.validateTrainee("a@b.co", "12");
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,122 @@
+package com.skilldev.validation.rules;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares the validation step of course/trainee {@code create} in {@code local} mode
+ * (rules in-process) against {@code remote} mode (HTTP call to Validation Service). The rest
+ * of {@code create} (the insert) is identical in both modes, so this is the latency and
+ * throughput difference the mode switch makes.
+ * <pre>
+ * cd validation-rules
+ * mvn test-compile
+ * java -cp target/classes:target/test-classes com.skilldev.validation.rules.ValidationModeBenchmark \
+ *     [validation-service-url] [threads] [seconds]
+ * </pre>
+ * The remote run is skipped when no URL is given (default threads 8, seconds 10).
+ */
+public class ValidationModeBenchmark {
+
+    private static final String COURSE_JSON =
+            "{\"durationHours\":40,\"startDate\":\"%s\",\"endDate\":\"%s\",\"trainerId\":1,\"category\":\"Java\"}";
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : null;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        LocalDate start = LocalDate.now().plusDays(7);
+        LocalDate end = start.plusDays(30);
+
+        ValidationRules rules = ValidationRules.bundled();
+        run("local", threads, seconds, () -> {
+            if (!rules.validateCourse(40, start, end, 1L, "Java").isEmpty()) {
+                throw new IllegalStateException("unexpected validation failure");
+            }
+        });
+        if (url == null) {
+            System.out.println("remote: skipped (pass the Validation Service URL, e.g. http://localhost:8082)");
+            return;
+        }
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/validate/course"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(String.format(COURSE_JSON, start, end)))
+                .build();
+        run("remote", threads, seconds, () -> {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200 || !response.body().contains("\"valid\":true")) {
+                throw new IllegalStateException("unexpected response " + response.statusCode());
+            }
+        });
+    }
+
+    private static void run(String mode, int threads, int seconds, Operation operation) throws Exception {
+        warmUp(operation);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Callable<long[]> worker = () -> {
+                long[] samples = new long[1 << 16];
+                int n = 0;
+                while (System.nanoTime() < deadline) {
+                    long begin = System.nanoTime();
+                    operation.run();
+                    long elapsed = System.nanoTime() - begin;
+                    if (n == samples.length) {
+                        samples = Arrays.copyOf(samples, n * 2);
+                    }
+                    samples[n++] = elapsed;
+                }
+                return Arrays.copyOf(samples, n);
+            };
+            results.add(pool.submit(worker));
+        }
+        long[] all = new long[0];
+        for (Future<long[]> result : results) {
+            long[] part = result.get();
+            long[] merged = Arrays.copyOf(all, all.length + part.length);
+            System.arraycopy(part, 0, merged, all.length, part.length);
+            all = merged;
+        }
+        pool.shutdown();
+        Arrays.sort(all);
+        System.out.printf("%-6s threads=%d ops=%d throughput=%.0f ops/s p50=%.1fus p99=%.1fus p999=%.1fus%n",
+                mode, threads, all.length, all.length / (double) seconds,
+                percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999));
+    }
+
+    private static void warmUp(Operation operation) throws Exception {
+        long until = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (System.nanoTime() < until) {
+            operation.run();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1000.0;
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,103 @@
+package com.skilldev.validation.rules;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks per rule set, for a passing and a failing input each. Run with
+ * {@code -prof gc} to check that passing evaluations do not allocate (the argument array is
+ * reused per thread), while a failing one allocates only its error list. The numeric
+ * arguments below are small enough to box from the Integer/Long caches:
+ * <pre>
+ * cd validation-rules
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main \
+ *     -Dexec.args="ValidationRulesBenchmark -prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationRulesBenchmark {
+
+    private ValidationRules rules;
+    private LocalDate start;
+    private LocalDate end;
+
+    @Setup
+    public void setUp() {
+        rules = ValidationRules.bundled();
+        start = LocalDate.now().plusDays(7);
+        end = start.plusDays(30);
+    }
+
+    @TearDown
+    public void tearDown() {
+        rules.close();
+    }
+
+    @Benchmark
+    public List<String> courseValid() {
+        return rules.validateCourse(40, start, end, 1L, "Java");
+    }
+
+    @Benchmark
+    public List<String> courseInvalid() {
+        return rules.validateCourse(0, end, start, -1L, " ");
+    }
+
+    @Benchmark
+    public List<String> traineeValid() {
+        return rules.validateTrainee("trainee@example.com", "9876543210");
+    }
+
+    @Benchmark
+    public List<String> traineeInvalid() {
+        return rules.validateTrainee("not-an-email", "123");
+    }
+
+    @Benchmark
+    public List<String> trainerValid() {
+        return rules.validateTrainer("Java Backend", "java", true);
+    }
+
+    @Benchmark
+    public List<String> trainerInvalid() {
+        return rules.validateTrainer("Design", "Java", false);
+    }
+
+    @Benchmark
+    public List<String> assessmentValid() {
+        return rules.validateAssessment(40, 100, 75);
+    }
+
+    @Benchmark
+    public List<String> assessmentInvalid() {
+        return rules.validateAssessment(120, 100, -1);
+    }
+
+    @Benchmark
+    public List<String> certificationValid() {
+        return rules.validateCertification(1L, 2L, true, 40, 75);
+    }
+
+    @Benchmark
+    public List<String> certificationInvalid() {
+        return rules.validateCertification(null, 2L, false, 40, 20);
+    }
+}
@@ -0,0 +1,14 @@
+package com.skilldev.validation.client;
+
+import com.skilldev.validation.client.dto.CourseReference;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+
+import java.util.List;
+
+@FeignClient(name = "course-service")
+public interface CourseServiceClient {
+
+    @GetMapping("/courses/reference")
+    List<CourseReference> reference();
+}
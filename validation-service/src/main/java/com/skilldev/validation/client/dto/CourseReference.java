@@ -0,0 +1,5 @@
+package com.skilldev.validation.client.dto;
+
+import java.time.LocalDate;
+
+public record CourseReference(Long id, Boolean active, LocalDate endDate, Integer capacity) {}
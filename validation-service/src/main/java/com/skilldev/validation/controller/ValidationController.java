@@ -5,6 +5,12 @@ import com.skilldev.validation.service.ValidationRulesService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+/**
+ * Rule checks for the other services. Each {@code /{type}/batch} endpoint takes a JSON array of
+ * the single-request body and returns results in the same order, one per input.
+ */
 @RestController
 @RequestMapping("/validate")
 public class ValidationController {
@@ -20,26 +26,61 @@ public class ValidationController {
         return ResponseEntity.ok(validationRulesService.validateCourse(request));
     }
 
+    @PostMapping("/course/batch")
+    public ResponseEntity<List<ValidationResult>> validateCourseBatch(@RequestBody List<CourseValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateCourse));
+    }
+
     @PostMapping("/trainee")
     public ResponseEntity<ValidationResult> validateTrainee(@RequestBody TraineeValidationRequest request) {
         return ResponseEntity.ok(validationRulesService.validateTrainee(request));
     }
 
+    @PostMapping("/trainee/batch")
+    public ResponseEntity<List<ValidationResult>> validateTraineeBatch(@RequestBody List<TraineeValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateTrainee));
+    }
+
     @PostMapping("/trainer")
     public ResponseEntity<ValidationResult> validateTrainer(@RequestBody TrainerValidationRequest request) {
         return ResponseEntity.ok(validationRulesService.validateTrainer(request));
     }
 
+    @PostMapping("/trainer/batch")
+    public ResponseEntity<List<ValidationResult>> validateTrainerBatch(@RequestBody List<TrainerValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateTrainer));
+    }
+
     @PostMapping("/assessment")
     public ResponseEntity<ValidationResult> validateAssessment(@RequestBody AssessmentValidationRequest request) {
         return ResponseEntity.ok(validationRulesService.validateAssessment(request));
     }
 
+    @PostMapping("/assessment/batch")
+    public ResponseEntity<List<ValidationResult>> validateAssessmentBatch(@RequestBody List<AssessmentValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateAssessment));
+    }
+
     @PostMapping("/certification")
     public ResponseEntity<ValidationResult> validateCertification(@RequestBody CertificationValidationRequest request) {
         return ResponseEntity.ok(validationRulesService.validateCertification(request));
     }
 
+    @PostMapping("/certification/batch")
+    public ResponseEntity<List<ValidationResult>> validateCertificationBatch(@RequestBody List<CertificationValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateCertification));
+    }
+
+    @PostMapping("/enrollment")
+    public ResponseEntity<ValidationResult> validateEnrollment(@RequestBody EnrollmentValidationRequest request) {
+        return ResponseEntity.ok(validationRulesService.validateEnrollment(request));
+    }
+
+    @PostMapping("/enrollment/batch")
+    public ResponseEntity<List<ValidationResult>> validateEnrollmentBatch(@RequestBody List<EnrollmentValidationRequest> requests) {
+        return ResponseEntity.ok(validationRulesService.validateBatch(requests, validationRulesService::validateEnrollment));
+    }
+
     @GetMapping("/health")
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Validation service is up");
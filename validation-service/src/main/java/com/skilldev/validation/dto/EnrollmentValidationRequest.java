@@ -0,0 +1,12 @@
+package com.skilldev.validation.dto;
+
+/**
+ * {@code traineeActive} and {@code enrolledCount} (enrollments of the course that are not
+ * withdrawn) are supplied by Trainee Service, which owns them; null when unknown.
+ */
+public record EnrollmentValidationRequest(
+    Long traineeId,
+    Long courseId,
+    Boolean traineeActive,
+    Long enrolledCount
+) {}
@@ -0,0 +1,16 @@
+package com.skilldev.validation.exception;
+
+/** Reference data needed for a check is not loaded yet or too old to trust (503 + Retry-After). */
+public class ReferenceDataUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReferenceDataUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
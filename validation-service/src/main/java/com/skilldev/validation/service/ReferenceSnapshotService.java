@@ -0,0 +1,160 @@
+package com.skilldev.validation.service;
+
+import com.skilldev.validation.client.CourseServiceClient;
+import com.skilldev.validation.client.dto.CourseReference;
+import com.skilldev.validation.exception.ReferenceDataUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Locally cached course reference data for enrollment eligibility, so a check normally makes
+ * no call to Course Service. The snapshot is reloaded in bulk every {@code refresh-interval-ms};
+ * trainee-side facts (active flag, current enrollment count) come with the request instead.
+ * <p>
+ * A course missing from the snapshot, or a snapshot older than {@code max-age-ms}, triggers
+ * an immediate reload before answering, at most once per {@code min-refresh-interval-ms}. Only
+ * one thread reloads at a time and nobody waits for it: other requests answer from the current
+ * snapshot meanwhile. A failed reload keeps the previous snapshot, which is then served stale:
+ * courses in it still get a verdict. Only a course that cannot be confirmed either way (never
+ * loaded, or missing while the last reload failed or another is running) is refused with 503.
+ * A slow Course Service thus holds up only the request doing the reload, for at most the Feign
+ * timeouts. Capacity is checked against the caller's count, so concurrent enrollments can
+ * still overshoot it; this is an eligibility check, not a seat reservation.
+ * <p>
+ * Metrics: {@code validation.reference.snapshot.age{source}} (seconds, NaN until first load)
+ * and {@code validation.reference.refresh{source,result}}.
+ */
+@Service
+public class ReferenceSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReferenceSnapshotService.class);
+
+    private final CourseServiceClient courseServiceClient;
+    private final long maxAgeMs;
+    private final long minRefreshIntervalMs;
+    private final long retryAfterSeconds;
+    private final Counter refreshSuccesses;
+    private final Counter refreshFailures;
+
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Snapshot courses;
+    /** Start of the latest reload attempt. */
+    private volatile long lastAttemptAt;
+    private volatile boolean lastAttemptFailed;
+
+    public ReferenceSnapshotService(
+            CourseServiceClient courseServiceClient,
+            @Value("${app.validation.reference.max-age-ms:300000}") long maxAgeMs,
+            @Value("${app.validation.reference.min-refresh-interval-ms:1000}") long minRefreshIntervalMs,
+            @Value("${app.validation.reference.retry-after-seconds:5}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        this.courseServiceClient = courseServiceClient;
+        this.maxAgeMs = maxAgeMs;
+        this.minRefreshIntervalMs = minRefreshIntervalMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        Gauge.builder("validation.reference.snapshot.age", this, s -> ageSeconds(s.courses))
+                .description("Seconds since the reference snapshot was loaded")
+                .tag("source", "course")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.refreshSuccesses = Counter.builder("validation.reference.refresh")
+                .tag("source", "course").tag("result", "success").register(meterRegistry);
+        this.refreshFailures = Counter.builder("validation.reference.refresh")
+                .tag("source", "course").tag("result", "failure").register(meterRegistry);
+    }
+
+    /** Bulk reload; the first run happens right after startup. Skipped while an on-demand reload runs. */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.validation.reference.refresh-interval-ms:30000}")
+    public void refresh() {
+        tryReload();
+    }
+
+    /**
+     * Reference data of {@code courseId}, or null if Course Service has no such course.
+     *
+     * @throws ReferenceDataUnavailableException if that cannot be decided right now
+     */
+    public CourseReference course(Long courseId) {
+        Snapshot snapshot = courses;
+        if (snapshot == null || !snapshot.data().containsKey(courseId) || age(snapshot) > maxAgeMs) {
+            snapshot = refreshOnDemand(snapshot);
+        }
+        if (snapshot == null) {
+            throw new ReferenceDataUnavailableException("Course reference data not loaded yet", retryAfterSeconds);
+        }
+        CourseReference course = snapshot.data().get(courseId);
+        if (course == null && lastAttemptFailed) {
+            throw new ReferenceDataUnavailableException("Course reference data could not be refreshed", retryAfterSeconds);
+        }
+        if (course == null && reloading.get()) {
+            throw new ReferenceDataUnavailableException("Course reference data is being refreshed", retryAfterSeconds);
+        }
+        return course;
+    }
+
+    /**
+     * Reloads on this thread unless another thread replaced {@code seen} meanwhile, the last
+     * attempt was too recent, or a reload is already running; never waits for one.
+     */
+    private Snapshot refreshOnDemand(Snapshot seen) {
+        if (courses == seen && System.currentTimeMillis() - lastAttemptAt >= minRefreshIntervalMs) {
+            tryReload();
+        }
+        return courses;
+    }
+
+    private void tryReload() {
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            reload();
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /** Only called by the thread that set {@link #reloading}. */
+    private void reload() {
+        long startedAt = System.currentTimeMillis();
+        lastAttemptAt = startedAt;
+        try {
+            List<CourseReference> loaded = courseServiceClient.reference();
+            if (loaded == null) {
+                throw new IllegalStateException("empty response");
+            }
+            Map<Long, CourseReference> byId = new HashMap<>();
+            for (CourseReference course : loaded) {
+                byId.put(course.id(), course);
+            }
+            courses = new Snapshot(byId, startedAt);
+            lastAttemptFailed = false;
+            refreshSuccesses.increment();
+        } catch (RuntimeException e) {
+            lastAttemptFailed = true;
+            refreshFailures.increment();
+            log.warn("Could not refresh course reference data: {}", e.getMessage());
+        }
+    }
+
+    private static long age(Snapshot snapshot) {
+        return System.currentTimeMillis() - snapshot.loadedAt();
+    }
+
+    private static double ageSeconds(Snapshot snapshot) {
+        return snapshot == null ? Double.NaN : age(snapshot) / 1000.0;
+    }
+
+    private record Snapshot(Map<Long, CourseReference> data, long loadedAt) {}
+}
@@ -1,87 +1,108 @@
 package com.skilldev.validation.service;
 
+import com.skilldev.validation.client.dto.CourseReference;
 import com.skilldev.validation.dto.*;
+import com.skilldev.validation.rules.ValidationRules;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDate;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
+/**
+ * HTTP-facing wrapper over the shared {@link ValidationRules}. With
+ * {@code app.validation.rules-file} set, rules come from that JSON file and are reloaded when
+ * it changes; otherwise the rules bundled with validation-rules are used.
+ * <p>
+ * Batches of at least {@code app.validation.batch.parallel-threshold} requests are split
+ * across cores; smaller ones run on the calling thread, where the fork/join overhead would
+ * outweigh the rule evaluation itself.
+ */
 @Service
 public class ValidationRulesService {
 
+    private final ValidationRules rules;
+    private final ReferenceSnapshotService referenceSnapshots;
+    private final int maxBatchSize;
+    private final int parallelThreshold;
+
+    public ValidationRulesService(
+            @Value("${app.validation.rules-file:}") String rulesFile,
+            @Value("${app.validation.rules-reload-interval:5s}") Duration reloadInterval,
+            @Value("${app.validation.batch.max-size:10000}") int maxBatchSize,
+            @Value("${app.validation.batch.parallel-threshold:512}") int parallelThreshold,
+            ReferenceSnapshotService referenceSnapshots) {
+        this.rules = ValidationRules.load(rulesFile, reloadInterval);
+        this.referenceSnapshots = referenceSnapshots;
+        this.maxBatchSize = maxBatchSize;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     public ValidationResult validateCourse(CourseValidationRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (req.durationHours() == null || req.durationHours() <= 0) {
-            errors.add("Course duration must be positive");
-        }
-        if (req.startDate() != null && req.endDate() != null && !req.endDate().isAfter(req.startDate())) {
-            errors.add("End date must be after start date");
-        }
-        if (req.startDate() != null && req.startDate().isBefore(LocalDate.now())) {
-            errors.add("Start date cannot be in the past");
-        }
-        if (req.trainerId() != null && req.trainerId() <= 0) {
-            errors.add("Invalid trainer assignment");
-        }
-        if (req.category() != null && req.category().isBlank()) {
-            errors.add("Course category cannot be blank");
-        }
-        return errors.isEmpty() ? ValidationResult.ok() : ValidationResult.fail(errors);
+        return result(rules.validateCourse(
+                req.durationHours(), req.startDate(), req.endDate(), req.trainerId(), req.category()));
     }
 
     public ValidationResult validateTrainee(TraineeValidationRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (req.email() == null || req.email().isBlank()) {
-            errors.add("Email is required");
-        } else if (!req.email().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
-            errors.add("Invalid email format");
-        }
-        if (req.contact() != null && req.contact().length() < 10) {
-            errors.add("Contact number must be at least 10 digits");
-        }
-        return errors.isEmpty() ? ValidationResult.ok() : ValidationResult.fail(errors);
+        return result(rules.validateTrainee(req.email(), req.contact()));
     }
 
     public ValidationResult validateTrainer(TrainerValidationRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (req.specialization() != null && req.courseCategory() != null
-                && !req.specialization().equalsIgnoreCase(req.courseCategory())
-                && !req.specialization().toLowerCase().contains(req.courseCategory().toLowerCase())) {
-            errors.add("Trainer specialization does not match course category");
-        }
-        if (!req.available()) {
-            errors.add("Trainer is not available");
-        }
-        return errors.isEmpty() ? ValidationResult.ok() : ValidationResult.fail(errors);
+        return result(rules.validateTrainer(req.specialization(), req.courseCategory(), req.available()));
     }
 
     public ValidationResult validateAssessment(AssessmentValidationRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (req.passingScore() != null && req.maxScore() != null) {
-            if (req.passingScore() < 0 || req.passingScore() > req.maxScore()) {
-                errors.add("Passing score must be between 0 and max score");
-            }
-        }
-        if (req.traineeScore() != null && req.maxScore() != null
-                && (req.traineeScore() < 0 || req.traineeScore() > req.maxScore())) {
-            errors.add("Trainee score must be between 0 and max score");
-        }
-        return errors.isEmpty() ? ValidationResult.ok() : ValidationResult.fail(errors);
+        return result(rules.validateAssessment(req.passingScore(), req.maxScore(), req.traineeScore()));
     }
 
     public ValidationResult validateCertification(CertificationValidationRequest req) {
-        List<String> errors = new ArrayList<>();
-        if (!req.assessmentPassed()) {
-            errors.add("Assessment must be passed to issue certificate");
+        return result(rules.validateCertification(
+                req.traineeId(), req.courseId(), req.assessmentPassed(), req.passingScore(), req.traineeScore()));
+    }
+
+    /**
+     * Eligibility against the cached course snapshot (see {@link ReferenceSnapshotService}) and
+     * the trainee facts the caller sent.
+     */
+    public ValidationResult validateEnrollment(EnrollmentValidationRequest req) {
+        CourseReference course = req.courseId() != null ? referenceSnapshots.course(req.courseId()) : null;
+        if (course == null) {
+            return result(rules.validateEnrollment(false, null, null, req.enrolledCount(), null, req.traineeActive()));
+        }
+        return result(rules.validateEnrollment(true, course.active(), course.endDate(), req.enrolledCount(),
+                course.capacity(), req.traineeActive()));
+    }
+
+    /** Validates every request; result {@code i} belongs to request {@code i}. */
+    public <T> List<ValidationResult> validateBatch(List<T> requests, Function<T, ValidationResult> validator) {
+        if (requests == null || requests.isEmpty()) {
+            return List.of();
         }
-        if (req.traineeScore() != null && req.passingScore() != null
-                && req.traineeScore() < req.passingScore()) {
-            errors.add("Trainee score below passing score");
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most " + maxBatchSize + " requests per batch");
         }
-        if (req.traineeId() == null || req.courseId() == null) {
-            errors.add("Trainee and course are required for certification");
+        if (requests.contains(null)) {
+            throw new IllegalArgumentException("Batch must not contain null requests");
         }
+        ValidationResult[] results = new ValidationResult[requests.size()];
+        IntStream indexes = IntStream.range(0, results.length);
+        if (results.length >= parallelThreshold) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = validator.apply(requests.get(i)));
+        return Arrays.asList(results);
+    }
+
+    @PreDestroy
+    void close() {
+        rules.close();
+    }
+
+    private static ValidationResult result(List<String> errors) {
         return errors.isEmpty() ? ValidationResult.ok() : ValidationResult.fail(errors);
     }
 }